@@ -0,0 +1,48 @@
+package tictactoe.bench;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tictactoe.TicTacToeConsoleController;
+import tictactoe.TicTacToeModel;
+
+/**
+ * Benchmarks of a whole {@link TicTacToeConsoleController#playGame} run fed from a script, from
+ * parsing the input to rendering every board.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ControllerBenchmark {
+
+  /**
+   * {@code tie} is a clean nine move game, {@code noisy} mixes in bad numbers, taken cells and
+   * moves off the board before quitting.
+   */
+  @Param({"tie", "noisy"})
+  public String script;
+
+  @Benchmark
+  public StringBuilder playGame() {
+    String input = "tie".equals(this.script)
+        ? "2 2 1 1 3 3 1 2 1 3 2 3 2 1 3 1 3 2"
+        : "2 2 a 1 1 b 1 1 c 4 5 3 3 1a 1 -100 2 3 q";
+    StringBuilder out = new StringBuilder(2048);
+    new TicTacToeConsoleController(new StringReader(input), out).playGame(new TicTacToeModel());
+    return out;
+  }
+}
@@ -0,0 +1,82 @@
+package tictactoe.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tictactoe.MctsStrategy;
+import tictactoe.MnkTicTacToeModel;
+import tictactoe.TicTacToe;
+
+/**
+ * Benchmark of the Monte Carlo tree search. Each operation chooses a move from the empty board
+ * with a fixed playout budget; the {@code playouts} and {@code playoutsPerCore} counters report
+ * playouts per second in total and divided by the number of search threads, so scaling across
+ * cores can be read directly from the output.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MctsBenchmark {
+
+  private static final int PLAYOUTS = 20000;
+
+  /**
+   * Board size and win length as {@code rows x columns x k}.
+   */
+  @Param({"3x3x3", "9x9x5", "15x15x5"})
+  public String board;
+
+  @Param({"1", "4"})
+  public int threads;
+
+  private TicTacToe game;
+  private MctsStrategy strategy;
+
+  /**
+   * Playouts counted per operation.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class Playouts {
+    public long playouts;
+    public long playoutsPerCore;
+
+    @Setup(Level.Iteration)
+    public void clear() {
+      this.playouts = 0;
+      this.playoutsPerCore = 0;
+    }
+  }
+
+  @Setup
+  public void setUp() {
+    String[] size = this.board.split("x");
+    this.game = new MnkTicTacToeModel(Integer.parseInt(size[0]), Integer.parseInt(size[1]),
+        Integer.parseInt(size[2]));
+    this.strategy = new MctsStrategy(PLAYOUTS, 0, this.threads);
+  }
+
+  @Benchmark
+  public Object chooseMove(Playouts counters) {
+    Object move = this.strategy.chooseMove(this.game);
+    counters.playouts += this.strategy.getLastPlayouts();
+    counters.playoutsPerCore += this.strategy.getLastPlayouts() / this.threads;
+    return move;
+  }
+}
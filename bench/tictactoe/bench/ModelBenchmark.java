@@ -0,0 +1,126 @@
+package tictactoe.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tictactoe.BitboardTicTacToeModel;
+import tictactoe.Player;
+import tictactoe.TicTacToe;
+import tictactoe.TicTacToeModel;
+
+/**
+ * Benchmarks of the model hot paths. Every query runs against the same mid-game position,
+ * {@link #move(Prepared)} measures one {@code move} on a fresh copy of that position, and
+ * {@link #playGame()} measures {@code move} through a whole game. The {@code model} parameter
+ * runs each benchmark against both 3x3 implementations.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ModelBenchmark {
+
+  //A tie game, as row and column pairs.
+  private static final int[] GAME = {1, 1, 0, 0, 2, 2, 0, 2, 0, 1, 2, 1, 1, 0, 1, 2, 2, 0};
+
+  @Param({"TicTacToeModel", "BitboardTicTacToeModel"})
+  public String model;
+
+  private TicTacToe position;
+  //Read from fields so the cell is not a constant.
+  private int row = 0;
+  private int column = 2;
+
+  /**
+   * A copy of the mid-game position made before every call, so {@link #move(Prepared)} times a
+   * single move and nothing else. Per-call setup is only worth it because the copy is not timed.
+   */
+  @State(Scope.Thread)
+  public static class Prepared {
+    TicTacToe game;
+
+    @Setup(Level.Invocation)
+    public void prepare(ModelBenchmark benchmark) {
+      this.game = benchmark.newPosition();
+    }
+  }
+
+  /**
+   * Set up a position with five marks and no winner.
+   */
+  @Setup
+  public void setUp() {
+    this.position = this.newPosition();
+  }
+
+  /**
+   * Play the sixth move of the game on the prepared position.
+   * @param prepared a new copy of the position
+   * @return the game after the move
+   */
+  @Benchmark
+  public TicTacToe move(Prepared prepared) {
+    prepared.game.move(GAME[10], GAME[11]);
+    return prepared.game;
+  }
+
+  @Benchmark
+  public Player getMarkAt() {
+    return this.position.getMarkAt(this.row, this.column);
+  }
+
+  /**
+   * Play a full game of nine moves on a new model.
+   * @return the finished game
+   */
+  @Benchmark
+  public TicTacToe playGame() {
+    TicTacToe m = this.newGame();
+    for (int i = 0; i < GAME.length; i += 2) m.move(GAME[i], GAME[i + 1]);
+    return m;
+  }
+
+  @Benchmark
+  public Player getWinner() {
+    return this.position.getWinner();
+  }
+
+  @Benchmark
+  public boolean isGameOver() {
+    return this.position.isGameOver();
+  }
+
+  @Benchmark
+  public Player[][] getBoard() {
+    return this.position.getBoard();
+  }
+
+  @Benchmark
+  public String toStringBoard() {
+    return this.position.toString();
+  }
+
+  private TicTacToe newPosition() {
+    TicTacToe m = this.newGame();
+    for (int i = 0; i < 10; i += 2) m.move(GAME[i], GAME[i + 1]);
+    return m;
+  }
+
+  private TicTacToe newGame() {
+    return "BitboardTicTacToeModel".equals(this.model) ? new BitboardTicTacToeModel() : new TicTacToeModel();
+  }
+}
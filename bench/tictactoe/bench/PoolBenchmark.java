@@ -0,0 +1,63 @@
+package tictactoe.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tictactoe.ModelPool;
+import tictactoe.ResettableTicTacToe;
+import tictactoe.TicTacToe;
+import tictactoe.TicTacToeModel;
+
+/**
+ * Benchmark of batch play with and without the model pool. Each operation plays a full game on
+ * a {@link TicTacToeModel}, either allocated for the game or borrowed from a {@link ModelPool}
+ * and returned. Run it with {@code -prof gc}: the pooled variant should allocate close to
+ * nothing per game. Several threads play at once, as they do in the simulator.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class PoolBenchmark {
+
+  //A tie game, as row and column pairs.
+  private static final int[] GAME = {1, 1, 0, 0, 2, 2, 0, 2, 0, 1, 2, 1, 1, 0, 1, 2, 2, 0};
+
+  @Param({"true", "false"})
+  public boolean pooled;
+
+  private ModelPool<ResettableTicTacToe> pool;
+
+  @Setup
+  public void setUp() {
+    this.pool = new ModelPool<>(TicTacToeModel::new, 1);
+  }
+
+  /**
+   * Play a full game of nine moves on a pooled or a new model.
+   * @return whether the game ended, so the game is not optimized away
+   */
+  @Benchmark
+  public boolean playGame() {
+    ResettableTicTacToe m = this.pooled ? this.pool.borrow() : new TicTacToeModel();
+    for (int i = 0; i < GAME.length; i += 2) m.move(GAME[i], GAME[i + 1]);
+    boolean over = m.isGameOver();
+    if (this.pooled) this.pool.release(m);
+    return over;
+  }
+}
@@ -0,0 +1,231 @@
+package tictactoe;
+
+/**
+ * This class represents a TicTacToe model that keeps the marks of each player as a 9-bit
+ * integer mask, one bit per cell in row-major order (bit {@code 3 * r + c}). A win is found
+ * by comparing the mask of the player that just moved against the precomputed line masks,
+ * so {@code move}, {@code getWinner} and {@code isGameOver} never allocate.
+ * The cells played are kept in order in a small byte array, so a move can be undone and redone
+ * by flipping one bit; only the last move can end a game, so undo simply clears the winner.
+ * This class implements the UndoableTicTacToe Interface.
+ */
+public class BitboardTicTacToeModel implements UndoableTicTacToe, ResettableTicTacToe {
+
+  //Three rows, three columns and the two diagonals.
+  static final int[] LINES = {
+      0b000_000_111, 0b000_111_000, 0b111_000_000,
+      0b001_001_001, 0b010_010_010, 0b100_100_100,
+      0b100_010_001, 0b001_010_100
+  };
+  static final int FULL = 0b111_111_111;
+
+  private int xMask;
+  private int oMask;
+  private int round;
+  private Player winner;
+  private long key;
+  //Cells in the order they were played; moves from round up to last can be redone.
+  private final byte[] history = new byte[9];
+  private int last;
+
+  /**
+   * Constructor of BitboardTicTacToeModel, it starts with an empty board and X to move.
+   */
+  public BitboardTicTacToeModel() {
+    this.xMask = 0;
+    this.oMask = 0;
+    this.round = 0;
+    this.winner = null;
+    this.key = 0;
+    this.last = 0;
+  }
+
+  @Override
+  public void move(int r, int c) throws IllegalArgumentException, IllegalStateException {
+
+    //Check if the game has ended
+    if (this.isGameOver()) throw new IllegalStateException("Game has been completed");
+    //the position is invalid
+    this.OutOfBoundary(r, c);
+    //Check if the position is occupied
+    int bit = 1 << (3 * r + c);
+    if (((this.xMask | this.oMask) & bit) != 0) throw new IllegalArgumentException("Position is taken");
+
+    this.play(3 * r + c);
+    this.last = this.round;
+  }
+
+  @Override
+  public void undo() throws IllegalStateException {
+    if (this.round == 0) throw new IllegalStateException("No move to undo");
+
+    int cell = this.history[--this.round];
+    this.xMask &= ~(1 << cell);
+    this.oMask &= ~(1 << cell);
+    this.key ^= Zobrist.of(cell, this.getTurn());
+    this.winner = null;
+  }
+
+  @Override
+  public void redo() throws IllegalStateException {
+    if (this.round >= this.last) throw new IllegalStateException("No move to redo");
+
+    this.play(this.history[this.round]);
+  }
+
+  @Override
+  public boolean canUndo() {
+    return this.round > 0;
+  }
+
+  @Override
+  public boolean canRedo() {
+    return this.round < this.last;
+  }
+
+  @Override
+  public Player getTurn() {
+    return (this.round & 1) == 0 ? Player.X : Player.O;
+  }
+
+  @Override
+  public boolean isGameOver() {
+    //game has a winner or is full
+    return this.winner != null || (this.xMask | this.oMask) == FULL;
+  }
+
+  @Override
+  public Player getWinner() {
+    return this.winner;
+  }
+
+  @Override
+  public Player[][] getBoard() {
+    Player[][] board = new Player[3][3];
+    for (int r = 0; r < 3; r++) {
+      for (int c = 0; c < 3; c++) {
+        board[r][c] = this.markAt(3 * r + c);
+      }
+    }
+    return board;
+  }
+
+  @Override
+  public Player getMarkAt(int r, int c) throws IllegalArgumentException {
+    //the position is otherwise invalid
+    this.OutOfBoundary(r, c);
+
+    return this.markAt(3 * r + c);
+  }
+
+  /**
+   * Return the mask of the cells taken by the given player.
+   * @param p the player
+   * @return a 9-bit mask, bit {@code 3 * r + c} is set when the player owns that cell
+   */
+  int getMask(Player p) {
+    return p == Player.X ? this.xMask : this.oMask;
+  }
+
+  /**
+   * Check if a mask completes any line.
+   * @param mask the cells of a player
+   * @return true if the player has three in a row
+   */
+  static boolean wins(int mask) {
+    for (int line : LINES) {
+      if ((mask & line) == line) return true;
+    }
+    return false;
+  }
+
+  @Override
+  public int getRows() {
+    return 3;
+  }
+
+  @Override
+  public int getColumns() {
+    return 3;
+  }
+
+  @Override
+  public int getWinLength() {
+    return 3;
+  }
+
+  @Override
+  public long getZobristKey() {
+    return this.key;
+  }
+
+  @Override
+  public BoardSnapshot snapshot() {
+    return new BoardSnapshot(3, 3, new long[] {this.xMask}, new long[] {this.oMask});
+  }
+
+  @Override
+  public void reset() {
+    this.xMask = 0;
+    this.oMask = 0;
+    this.round = 0;
+    this.winner = null;
+    this.key = 0;
+    this.last = 0;
+  }
+
+  @Override
+  public String toString() {
+    return BoardRenderer.render(this.xMask, this.oMask);
+  }
+
+  /**
+   * Mark an empty cell for the player to move, record it and check only the lines crossing it.
+   * @param cell the cell index, {@code 3 * r + c}
+   */
+  private void play(int cell) {
+    int bit = 1 << cell;
+    int mask;
+    Player player = this.getTurn();
+    if (player == Player.X) {
+      mask = this.xMask |= bit;
+    } else {
+      mask = this.oMask |= bit;
+    }
+    this.history[this.round++] = (byte) cell;
+    this.key ^= Zobrist.of(cell, player);
+
+    for (int line : LINES) {
+      if ((line & bit) != 0 && (mask & line) == line) {
+        this.winner = player;
+        return;
+      }
+    }
+  }
+
+  /**
+   * Look up the mark of a cell by its bit index.
+   * @param cell the cell index, {@code 3 * r + c}
+   * @return the player at that cell, or null if it's empty
+   */
+  private Player markAt(int cell) {
+    int bit = 1 << cell;
+    if ((this.xMask & bit) != 0) return Player.X;
+    if ((this.oMask & bit) != 0) return Player.O;
+    return null;
+  }
+
+  /**
+   * Check the coordinates of r and c are within the board
+   * @param r the row of the intended move
+   * @param c the column of the intended move
+   * @throws IllegalArgumentException When the column or row is greater or lower than board size
+   */
+  private void OutOfBoundary(int r, int c) throws IllegalArgumentException {
+
+    //the position is otherwise invalid
+    if (r < 0 || c < 0 || r > 2 || c > 2) {
+      throw new IllegalArgumentException("Out of boundary");
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package tictactoe;
+
+/**
+ * Maps a three-by-three position to a canonical key that is the same for all 8 rotations and
+ * reflections of the board, so symmetric positions can share one entry of a cache, a book or a
+ * set. The key holds the mask of X in bits 0-8 and the mask of O in bits 9-17 (bit
+ * {@code 3 * r + c} is the cell (r, c)), taken from the image of the board with the smallest
+ * key. Each image is two lookups in precomputed per-mask tables, so canonicalizing is a few dozen
+ * integer operations and never allocates.
+ */
+public final class BoardCanonicalizer {
+
+  /** Images ordered by their 18-bit key, see {@link #key(int, int, int)}. */
+  static final int BY_KEY = 0;
+  /** Images ordered by their base-3 encoding, see {@link BoardSymmetry#base3(int, int)}. */
+  static final int BY_BASE3 = 1;
+
+  private BoardCanonicalizer() {
+  }
+
+  /**
+   * Return the canonical key of a three-by-three game.
+   * @param m the game
+   * @return an 18-bit key, equal for every symmetric image of the board
+   * @throws IllegalArgumentException if the game is null or is not played on a 3x3 board
+   */
+  public static int canonicalKey(TicTacToe m) throws IllegalArgumentException {
+    if (m == null) throw new IllegalArgumentException("Game can not be null");
+    if (m.getRows() != 3 || m.getColumns() != 3) throw new IllegalArgumentException("Only 3x3 boards have a canonical key");
+    return canonicalKey(TicTacToeSolver.maskOf(m, Player.X), TicTacToeSolver.maskOf(m, Player.O));
+  }
+
+  /**
+   * Return the canonical key of a position given by two masks.
+   * @param a the mask stored in the low bits
+   * @param b the mask stored in the high bits
+   * @return the smallest key over the 8 symmetries
+   */
+  static int canonicalKey(int a, int b) {
+    return key(a, b, canonicalSymmetry(a, b, BY_KEY));
+  }
+
+  /**
+   * Find the symmetry that maps a position to its smallest image.
+   * @param a the first mask, stored in the low bits of a key or as 1 in base 3
+   * @param b the second mask, stored in the high bits of a key or as 2 in base 3
+   * @param order {@link #BY_KEY} or {@link #BY_BASE3}
+   * @return the index of the symmetry, see {@link BoardSymmetry}
+   */
+  static int canonicalSymmetry(int a, int b, int order) {
+    int best = 0;
+    int bestKey = Integer.MAX_VALUE;
+    for (int s = 0; s < BoardSymmetry.COUNT; s++) {
+      int k = image(a, b, s, order);
+      if (k < bestKey) {
+        bestKey = k;
+        best = s;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Encode a position after applying a symmetry.
+   * @param a the mask stored in the low bits
+   * @param b the mask stored in the high bits
+   * @param sym the index of the symmetry
+   * @return an 18-bit key
+   */
+  static int key(int a, int b, int sym) {
+    return BoardSymmetry.transform(a, sym) | (BoardSymmetry.transform(b, sym) << 9);
+  }
+
+  /**
+   * Encode a position after applying a symmetry, in the given order.
+   * @param a the first mask
+   * @param b the second mask
+   * @param sym the index of the symmetry
+   * @param order {@link #BY_KEY} for an 18-bit key, or {@link #BY_BASE3} for a base-3 encoding
+   *     below {@link BoardSymmetry#ENCODINGS}
+   * @return the encoding of the image
+   */
+  static int image(int a, int b, int sym, int order) {
+    if (order == BY_KEY) return key(a, b, sym);
+    return BoardSymmetry.base3(BoardSymmetry.transform(a, sym), BoardSymmetry.transform(b, sym));
+  }
+}
@@ -0,0 +1,137 @@
+package tictactoe;
+
+import java.io.IOException;
+
+/**
+ * Helper that writes the text form of a board, the one returned by the models'
+ * {@code toString()}, straight into an {@link Appendable} such as a {@link StringBuilder} or a
+ * {@link java.nio.CharBuffer}. Three-by-three boards are rendered once per distinct position
+ * and the text is cached, so rendering a position seen before is a single append.
+ */
+public final class BoardRenderer {
+
+  //Rendered 3x3 boards indexed by their base-3 encoding, filled on first use. Strings are
+  //immutable, so a racy fill at worst renders the same board twice.
+  private static final String[] CACHE = new String[BoardSymmetry.ENCODINGS];
+
+  private BoardRenderer() {
+  }
+
+  /**
+   * Return the text form of a board.
+   * @param m the game
+   * @return the board, rows separated by a line of dashes, without a trailing new line
+   */
+  public static String toString(TicTacToe m) {
+    if (isClassic(m)) {
+      return render(TicTacToeSolver.maskOf(m, Player.X), TicTacToeSolver.maskOf(m, Player.O));
+    }
+    StringBuilder sb = new StringBuilder(8 * m.getRows() * m.getColumns());
+    render(sb, m);
+    return sb.toString();
+  }
+
+  /**
+   * Return the text form of a snapshot, the same as that of the board it was taken from.
+   * @param s the snapshot
+   * @return the board, rows separated by a line of dashes, without a trailing new line
+   */
+  public static String toString(BoardSnapshot s) {
+    if (s.getRows() == 3 && s.getColumns() == 3) {
+      return render((int) s.getMask(Player.X), (int) s.getMask(Player.O));
+    }
+    StringBuilder sb = new StringBuilder(8 * s.getRows() * s.getColumns());
+    try {
+      appendTo(sb, s.getRows(), s.getColumns(), s::getMarkAt);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Write the text form of a board.
+   * @param out where the board is written
+   * @param m the game
+   * @throws IOException if the appendable fails
+   */
+  public static void render(Appendable out, TicTacToe m) throws IOException {
+    if (isClassic(m)) {
+      out.append(render(TicTacToeSolver.maskOf(m, Player.X), TicTacToeSolver.maskOf(m, Player.O)));
+    } else {
+      appendTo(out, m.getRows(), m.getColumns(), m::getMarkAt);
+    }
+  }
+
+  /**
+   * Write the text form of a board into a builder. Unlike {@link #render(Appendable, TicTacToe)}
+   * it can not fail.
+   * @param sb where the board is written
+   * @param m the game
+   */
+  public static void render(StringBuilder sb, TicTacToe m) {
+    try {
+      render((Appendable) sb, m);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Return the cached text of a three-by-three board.
+   * @param x the mask of X
+   * @param o the mask of O
+   * @return the board text
+   */
+  static String render(int x, int o) {
+    int index = BoardSymmetry.base3(x, o);
+    String text = CACHE[index];
+    if (text == null) {
+      StringBuilder sb = new StringBuilder(55);
+      for (int r = 0; r < 3; r++) {
+        if (r > 0) sb.append("\n-----------\n");
+        for (int c = 0; c < 3; c++) {
+          int bit = 1 << (3 * r + c);
+          sb.append(c == 0 ? " " : " | ").append((x & bit) != 0 ? "X" : (o & bit) != 0 ? "O" : " ");
+        }
+      }
+      text = sb.toString();
+      CACHE[index] = text;
+    }
+    return text;
+  }
+
+  /**
+   * Write a board of any size cell by cell.
+   * @param out where the board is written
+   * @param rows the number of rows
+   * @param columns the number of columns
+   * @param marks the mark of each cell
+   * @throws IOException if the appendable fails
+   */
+  private static void appendTo(Appendable out, int rows, int columns, Marks marks)
+      throws IOException {
+    for (int r = 0; r < rows; r++) {
+      if (r > 0) {
+        out.append('\n');
+        for (int i = 0; i < 4 * columns - 1; i++) out.append('-');
+        out.append('\n');
+      }
+      for (int c = 0; c < columns; c++) {
+        Player p = marks.at(r, c);
+        out.append(c == 0 ? " " : " | ").append(p == null ? " " : p == Player.X ? "X" : "O");
+      }
+    }
+  }
+
+  private static boolean isClassic(TicTacToe m) {
+    return m.getRows() == 3 && m.getColumns() == 3;
+  }
+
+  /**
+   * The marks of a board, read from a game or a snapshot.
+   */
+  private interface Marks {
+    Player at(int r, int c);
+  }
+}
@@ -0,0 +1,152 @@
+package tictactoe;
+
+import java.util.Arrays;
+
+/**
+ * This class represents an immutable copy of a board, taken with {@link TicTacToe#snapshot()}.
+ * The marks are kept as two bit sets, one per player (bit {@code r * columns + c}), so a
+ * snapshot of a three-by-three board is two longs and reading it never copies anything.
+ * Two snapshots are equal when they have the same size and the same marks.
+ */
+public final class BoardSnapshot {
+
+  private final int rows;
+  private final int columns;
+  private final long[] x;
+  private final long[] o;
+
+  /**
+   * Constructor of BoardSnapshot, it takes ownership of the bit sets.
+   * @param rows number of rows
+   * @param columns number of columns
+   * @param x cells of X
+   * @param o cells of O
+   */
+  BoardSnapshot(int rows, int columns, long[] x, long[] o) {
+    this.rows = rows;
+    this.columns = columns;
+    this.x = x;
+    this.o = o;
+  }
+
+  /**
+   * Take a snapshot of any game through {@link TicTacToe#getMarkAt(int, int)}.
+   * @param m the game
+   * @return a snapshot of its board
+   */
+  static BoardSnapshot of(TicTacToe m) {
+    int rows = m.getRows();
+    int columns = m.getColumns();
+    long[] x = new long[words(rows * columns)];
+    long[] o = new long[x.length];
+    for (int r = 0; r < rows; r++) {
+      for (int c = 0; c < columns; c++) {
+        Player p = m.getMarkAt(r, c);
+        int cell = r * columns + c;
+        if (p == Player.X) x[cell >>> 6] |= 1L << cell;
+        if (p == Player.O) o[cell >>> 6] |= 1L << cell;
+      }
+    }
+    return new BoardSnapshot(rows, columns, x, o);
+  }
+
+  /**
+   * Number of longs needed to hold one bit per cell.
+   * @param cells number of cells
+   * @return the length of the bit set
+   */
+  static int words(int cells) {
+    return (cells + 63) >>> 6;
+  }
+
+  /**
+   * Return the number of rows of the board.
+   * @return the number of rows
+   */
+  public int getRows() {
+    return this.rows;
+  }
+
+  /**
+   * Return the number of columns of the board.
+   * @return the number of columns
+   */
+  public int getColumns() {
+    return this.columns;
+  }
+
+  /**
+   * Return the {@link Player} mark at a given row and column, or {@code null} if the position
+   * is empty.
+   * @param r the row
+   * @param c the column
+   * @return the player at the given position, or null if it's empty
+   * @throws IllegalArgumentException if the position is outside the board
+   */
+  public Player getMarkAt(int r, int c) throws IllegalArgumentException {
+    if (r < 0 || c < 0 || r >= this.rows || c >= this.columns) {
+      throw new IllegalArgumentException("Out of boundary");
+    }
+    int cell = r * this.columns + c;
+    if ((this.x[cell >>> 6] & (1L << cell)) != 0) return Player.X;
+    if ((this.o[cell >>> 6] & (1L << cell)) != 0) return Player.O;
+    return null;
+  }
+
+  /**
+   * Return the cells of a player on a board of at most 64 cells.
+   * @param p the player
+   * @return the first word of the bit set of the player, bit {@code r * columns + c} per cell
+   */
+  long getMask(Player p) {
+    return p == Player.X ? this.x[0] : this.o[0];
+  }
+
+  /**
+   * Return the number of marks on the board.
+   * @return the number of moves played
+   */
+  public int getMarkCount() {
+    int count = 0;
+    for (int i = 0; i < this.x.length; i++) count += Long.bitCount(this.x[i] | this.o[i]);
+    return count;
+  }
+
+  /**
+   * Return a stable encoding of the board, two bits per cell in row-major order (cell n at bits
+   * 2n and 2n+1, 01 for X, 10 for O, 00 for empty). The value only depends on the marks, so it
+   * can be stored and compared across runs.
+   * @return the encoding of the board
+   * @throws UnsupportedOperationException if the board has more than 32 cells
+   */
+  public long encode() throws UnsupportedOperationException {
+    int cells = this.rows * this.columns;
+    if (cells > 32) throw new UnsupportedOperationException("Board is too large to encode in a long");
+
+    long key = 0;
+    for (int cell = 0; cell < cells; cell++) {
+      if ((this.x[0] & (1L << cell)) != 0) key |= 1L << (2 * cell);
+      if ((this.o[0] & (1L << cell)) != 0) key |= 2L << (2 * cell);
+    }
+    return key;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) return true;
+    if (!(other instanceof BoardSnapshot)) return false;
+    BoardSnapshot that = (BoardSnapshot) other;
+    return this.rows == that.rows && this.columns == that.columns
+        && Arrays.equals(this.x, that.x) && Arrays.equals(this.o, that.o);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * (31 * (31 * this.rows + this.columns) + Arrays.hashCode(this.x)) + Arrays.hashCode(this.o);
+  }
+
+  @Override
+  public String toString() {
+    return BoardRenderer.toString(this);
+  }
+}
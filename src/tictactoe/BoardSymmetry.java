@@ -0,0 +1,75 @@
+package tictactoe;
+
+/**
+ * Helper with the 8 symmetries of the three-by-three board (4 rotations, each optionally
+ * mirrored), applied to 9-bit cell masks where bit {@code 3 * r + c} is the cell (r, c), and
+ * with the base-3 encoding of a board given by those masks.
+ */
+final class BoardSymmetry {
+
+  static final int COUNT = 8;
+  //PERMUTATIONS[s][cell] is where the cell lands under symmetry s, INVERSE undoes it.
+  static final int[][] PERMUTATIONS = new int[COUNT][9];
+  static final int[][] INVERSE = new int[COUNT][9];
+  //MASKS[s][mask] is the image of a whole 9-bit mask under symmetry s.
+  private static final int[][] MASKS = new int[COUNT][512];
+  //Number of distinct base-3 encodings, 3^9.
+  static final int ENCODINGS = 19683;
+  //BASE3[mask] is the base-3 encoding of a mask whose cells are all marked with 1.
+  private static final int[] BASE3 = new int[512];
+
+  static {
+    for (int mask = 0; mask < 512; mask++) {
+      int power = 1;
+      for (int cell = 0; cell < 9; cell++) {
+        if ((mask & (1 << cell)) != 0) BASE3[mask] += power;
+        power *= 3;
+      }
+    }
+
+    for (int cell = 0; cell < 9; cell++) {
+      int r = cell / 3;
+      int c = cell % 3;
+      int[][] images = {
+          {r, c}, {c, 2 - r}, {2 - r, 2 - c}, {2 - c, r},
+          {r, 2 - c}, {2 - r, c}, {c, r}, {2 - c, 2 - r}
+      };
+      for (int s = 0; s < COUNT; s++) {
+        int image = 3 * images[s][0] + images[s][1];
+        PERMUTATIONS[s][cell] = image;
+        INVERSE[s][image] = cell;
+      }
+    }
+
+    for (int s = 0; s < COUNT; s++) {
+      for (int mask = 0; mask < 512; mask++) {
+        for (int cell = 0; cell < 9; cell++) {
+          if ((mask & (1 << cell)) != 0) MASKS[s][mask] |= 1 << PERMUTATIONS[s][cell];
+        }
+      }
+    }
+  }
+
+  private BoardSymmetry() {
+  }
+
+  /**
+   * Encode a board in base 3, {@code sum of mark * 3^cell} with 1 for X and 2 for O.
+   * @param x the mask of X
+   * @param o the mask of O
+   * @return the encoding, below {@link #ENCODINGS}
+   */
+  static int base3(int x, int o) {
+    return BASE3[x] + 2 * BASE3[o];
+  }
+
+  /**
+   * Move every cell of a mask to its image under a symmetry, with a single table lookup.
+   * @param mask the cells
+   * @param sym the index of the symmetry
+   * @return the transformed mask
+   */
+  static int transform(int mask, int sym) {
+    return MASKS[sym][mask];
+  }
+}
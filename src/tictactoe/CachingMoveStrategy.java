@@ -0,0 +1,70 @@
+package tictactoe;
+
+/**
+ * A strategy that remembers the solutions of a {@link SolvingStrategy} in an
+ * {@link EvaluationCache}, keyed by the {@link TicTacToe#getZobristKey() Zobrist key} of the board
+ * mixed with its size, so games that reach the same position, in any session or thread, ask the
+ * slower strategy only once. Every entry keeps the best cell, the value and the depth of the
+ * solution; an entry searched fewer moves ahead than there are empty cells is solved again, and
+ * the cache keeps the deeper of two entries. The cache may be shared by many strategies as long as
+ * they wrap the same kind of strategy.
+ */
+public class CachingMoveStrategy implements SolvingStrategy {
+
+  private final SolvingStrategy delegate;
+  private final EvaluationCache cache;
+
+  /**
+   * Constructor of CachingMoveStrategy.
+   * @param delegate the strategy asked on a miss
+   * @param cache the cache of solutions
+   * @throws IllegalArgumentException if any argument is null
+   */
+  public CachingMoveStrategy(SolvingStrategy delegate, EvaluationCache cache) throws IllegalArgumentException {
+    if (delegate == null || cache == null) throw new IllegalArgumentException("Arguments can not be null");
+    this.delegate = delegate;
+    this.cache = cache;
+  }
+
+  @Override
+  public Solution solve(TicTacToe m) throws IllegalStateException {
+    int rows = m.getRows();
+    int columns = m.getColumns();
+    int empty = 0;
+    for (int r = 0; r < rows; r++) {
+      for (int c = 0; c < columns; c++) {
+        if (m.getMarkAt(r, c) == null) empty++;
+      }
+    }
+
+    long key = key(m);
+    long entry = this.cache.lookup(key);
+    if (entry != EvaluationCache.MISS && EvaluationCache.depthOf(entry) >= empty) {
+      int cell = EvaluationCache.cellOf(entry);
+      //A different board with the same key can not get a taken cell
+      if (cell < rows * columns && m.getMarkAt(cell / columns, cell % columns) == null) {
+        return new Solution(new Move(cell / columns, cell % columns),
+            EvaluationCache.scoreOf(entry), EvaluationCache.depthOf(entry));
+      }
+    }
+
+    Solution s = this.delegate.solve(m);
+    if (s != null) {
+      Move move = s.getMove();
+      this.cache.store(key, move.getRow() * columns + move.getColumn(), s.getValue(),
+          Math.min(s.getDepth(), 0xFFFF));
+    }
+    return s;
+  }
+
+  /**
+   * Return the key of a position: its Zobrist key mixed with the size of the board and the win
+   * length, so boards of different games never share an entry.
+   * @param m the game
+   * @return the key
+   */
+  static long key(TicTacToe m) {
+    long size = ((long) m.getRows() << 16 | m.getColumns() << 8 | m.getWinLength()) * 0x9E3779B97F4A7C15L;
+    return m.getZobristKey() ^ size;
+  }
+}
@@ -0,0 +1,247 @@
+package tictactoe;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class represents a TicTacToe model that can be shared between threads, for example
+ * player threads that move and spectator threads that watch. The whole game is an immutable
+ * state (the bit masks of both players, the winner and a version that counts the
+ * changes) published through a single atomic reference. A move builds the next state and
+ * installs it with a compare-and-set, so readers never block and never see a half-applied move.
+ * Each read method looks at one state; use {@link #versionedSnapshot()} to read the board, the
+ * turn, the winner and the version of the same state, and
+ * {@link #tryMove(VersionedSnapshot, int, int)} to move only if that state is still current.
+ * This class implements the TicTacToe Interface.
+ */
+public class ConcurrentTicTacToeModel implements ResettableTicTacToe {
+
+  private final AtomicReference<State> state;
+
+  /**
+   * Constructor of ConcurrentTicTacToeModel, it starts with an empty board and X to move.
+   */
+  public ConcurrentTicTacToeModel() {
+    this.state = new AtomicReference<>(State.EMPTY);
+  }
+
+  /**
+   * Play the next move. When another thread moves first, the move is retried on the new state,
+   * where it may belong to the other player or find the cell taken.
+   */
+  @Override
+  public void move(int r, int c) throws IllegalArgumentException, IllegalStateException {
+    while (true) {
+      State current = this.state.get();
+      if (this.state.compareAndSet(current, current.play(r, c))) return;
+    }
+  }
+
+  /**
+   * Play the next move only if the game is still in the state a snapshot was taken from, so the
+   * move is decided and played on exactly the same board.
+   * @param seen the view the move was decided on, see {@link #versionedSnapshot()}
+   * @param r the row of the intended move
+   * @param c the column of the intended move
+   * @return true if the move was played, false if the game changed in between
+   * @throws IllegalArgumentException if the position is outside the board or taken
+   * @throws IllegalStateException if the game is over
+   */
+  public boolean tryMove(VersionedSnapshot seen, int r, int c)
+      throws IllegalArgumentException, IllegalStateException {
+    return this.tryMove(seen.getVersion(), r, c);
+  }
+
+  /**
+   * Play the next move only if nothing changed since the given version was read. The version
+   * must come from the same read as the board the move was decided on, which only
+   * {@link #versionedSnapshot()} guarantees.
+   * @param expectedVersion the version the move was decided on
+   * @param r the row of the intended move
+   * @param c the column of the intended move
+   * @return true if the move was played, false if the game changed in between
+   * @throws IllegalArgumentException if the position is outside the board or taken
+   * @throws IllegalStateException if the game is over
+   */
+  public boolean tryMove(long expectedVersion, int r, int c)
+      throws IllegalArgumentException, IllegalStateException {
+    State current = this.state.get();
+    if (current.version != expectedVersion) return false;
+    return this.state.compareAndSet(current, current.play(r, c));
+  }
+
+  /**
+   * Return the number of changes made to the game so far.
+   * @return the version of the current state
+   */
+  public long getVersion() {
+    return this.state.get().version;
+  }
+
+  @Override
+  public Player getTurn() {
+    return this.state.get().getTurn();
+  }
+
+  @Override
+  public boolean isGameOver() {
+    return this.state.get().isGameOver();
+  }
+
+  @Override
+  public Player getWinner() {
+    return this.state.get().winner;
+  }
+
+  @Override
+  public Player[][] getBoard() {
+    State current = this.state.get();
+    Player[][] board = new Player[3][3];
+    for (int cell = 0; cell < 9; cell++) board[cell / 3][cell % 3] = current.markAt(cell);
+    return board;
+  }
+
+  @Override
+  public Player getMarkAt(int r, int c) throws IllegalArgumentException {
+    OutOfBoundary(r, c);
+
+    return this.state.get().markAt(3 * r + c);
+  }
+
+  @Override
+  public int getRows() {
+    return 3;
+  }
+
+  @Override
+  public int getColumns() {
+    return 3;
+  }
+
+  @Override
+  public int getWinLength() {
+    return 3;
+  }
+
+  @Override
+  public BoardSnapshot snapshot() {
+    return this.state.get().board();
+  }
+
+  /**
+   * Return the board, the player to move, the winner and the version, all from one state.
+   * @return an immutable view of the current state
+   */
+  public VersionedSnapshot versionedSnapshot() {
+    State current = this.state.get();
+    return new VersionedSnapshot(current.board(), current.getTurn(), current.winner,
+        current.isGameOver(), current.version);
+  }
+
+  @Override
+  public long getZobristKey() {
+    return this.state.get().key;
+  }
+
+  /**
+   * Start a new game. The version keeps counting, so a move decided before the reset fails.
+   */
+  @Override
+  public void reset() {
+    State current;
+    do {
+      current = this.state.get();
+    } while (!this.state.compareAndSet(current, new State(0, 0, null, current.version + 1, 0)));
+  }
+
+  @Override
+  public String toString() {
+    State current = this.state.get();
+    return BoardRenderer.render(current.x, current.o);
+  }
+
+  /**
+   * Check the coordinates of r and c are within the board
+   * @param r the row of the intended move
+   * @param c the column of the intended move
+   * @throws IllegalArgumentException When the column or row is greater or lower than board size
+   */
+  private static void OutOfBoundary(int r, int c) throws IllegalArgumentException {
+
+    //the position is otherwise invalid
+    if (r < 0 || c < 0 || r > 2 || c > 2) {
+      throw new IllegalArgumentException("Out of boundary");
+    }
+  }
+
+  /**
+   * One immutable state of the game.
+   */
+  private static final class State {
+    private static final State EMPTY = new State(0, 0, null, 0, 0);
+
+    final int x;
+    final int o;
+    final Player winner;
+    final long version;
+    final long key;
+
+    private State(int x, int o, Player winner, long version, long key) {
+      this.x = x;
+      this.o = o;
+      this.winner = winner;
+      this.version = version;
+      this.key = key;
+    }
+
+    /**
+     * Return the state after the player to move marks a cell. The checks run in the same order
+     * as in {@link TicTacToeModel#move(int, int)}, so both throw the same exception.
+     * @param r the row of the intended move
+     * @param c the column of the intended move
+     * @return the next state
+     * @throws IllegalArgumentException if the position is outside the board or taken
+     * @throws IllegalStateException if the game is over
+     */
+    State play(int r, int c) throws IllegalArgumentException, IllegalStateException {
+      //Check if the game has ended
+      if (this.isGameOver()) throw new IllegalStateException("Game has been completed");
+      //the position is invalid
+      OutOfBoundary(r, c);
+      //Check if the position is occupied
+      int cell = 3 * r + c;
+      int bit = 1 << cell;
+      if (((this.x | this.o) & bit) != 0) throw new IllegalArgumentException("Position is taken");
+
+      Player player = this.getTurn();
+      int mask = (player == Player.X ? this.x : this.o) | bit;
+      Player next = null;
+      for (int line : BitboardTicTacToeModel.LINES) {
+        if ((line & bit) != 0 && (mask & line) == line) next = player;
+      }
+      long key = this.key ^ Zobrist.of(cell, player);
+      return player == Player.X
+          ? new State(mask, this.o, next, this.version + 1, key)
+          : new State(this.x, mask, next, this.version + 1, key);
+    }
+
+    Player getTurn() {
+      return Integer.bitCount(this.x) == Integer.bitCount(this.o) ? Player.X : Player.O;
+    }
+
+    boolean isGameOver() {
+      //game has a winner or is full
+      return this.winner != null || (this.x | this.o) == BitboardTicTacToeModel.FULL;
+    }
+
+    BoardSnapshot board() {
+      return new BoardSnapshot(3, 3, new long[] {this.x}, new long[] {this.o});
+    }
+
+    Player markAt(int cell) {
+      int bit = 1 << cell;
+      if ((this.x & bit) != 0) return Player.X;
+      if ((this.o & bit) != 0) return Player.O;
+      return null;
+    }
+  }
+}
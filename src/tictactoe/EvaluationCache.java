@@ -0,0 +1,351 @@
+package tictactoe;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache from a position key, such as {@link TicTacToe#getZobristKey()}, to an
+ * evaluation: the best cell, a score and the depth it was searched to. It can be shared by every
+ * game and thread of a process. The cache is split into shards, each guarded by its own lock, and
+ * every shard is set-associative: a key can only live in one set of {@value #WAYS} slots, so a
+ * lookup scans at most {@value #WAYS} keys. Keys, evaluations and access times are kept in
+ * parallel primitive arrays, 24 bytes per entry plus 8 for the frequency sketch of
+ * {@link Policy#TINY_LFU}, so a million entries take 24 to 32 MB.
+ * When a set is full its least recently used entry is the victim. With {@link Policy#LRU} the
+ * victim is always replaced; with {@link Policy#TINY_LFU} a count-min sketch of recent accesses
+ * estimates how often each key is used, and the new key only replaces the victim if it is used
+ * more often, so a burst of positions seen once does not flush the popular ones.
+ */
+public final class EvaluationCache {
+
+  /**
+   * How a new entry competes with the least recently used entry of a full set.
+   */
+  public enum Policy {
+    /** The new entry always replaces the victim. */
+    LRU,
+    /** The new entry replaces the victim only if its key is used more often. */
+    TINY_LFU
+  }
+
+  /** Returned by {@link #lookup(long)} when the key is not in the cache. */
+  public static final long MISS = Long.MIN_VALUE;
+
+  /** Number of slots of a set. */
+  public static final int WAYS = 8;
+
+  private final Shard[] shards;
+  private final int shardMask;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder rejections = new LongAdder();
+
+  /**
+   * Constructor of EvaluationCache, with four shards per available processor rounded up to a
+   * power of two.
+   * @param capacity the fewest entries kept; the sets per shard are rounded up to a power of two,
+   *     so up to about twice as many may be allocated, see {@link #getCapacity()}
+   * @param policy the admission policy of full sets
+   * @throws IllegalArgumentException if the capacity is not positive or the policy is null
+   */
+  public EvaluationCache(int capacity, Policy policy) throws IllegalArgumentException {
+    this(capacity, policy, 4 * Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructor of EvaluationCache.
+   * @param capacity the fewest entries kept; the sets per shard are rounded up to a power of two,
+   *     so up to about twice as many may be allocated, see {@link #getCapacity()}
+   * @param policy the admission policy of full sets
+   * @param shards the number of independently locked shards, rounded up to a power of two
+   * @throws IllegalArgumentException if the capacity or the number of shards is not positive,
+   *     or the policy is null
+   */
+  public EvaluationCache(int capacity, Policy policy, int shards) throws IllegalArgumentException {
+    if (capacity < 1) throw new IllegalArgumentException("Capacity must be positive");
+    if (shards < 1) throw new IllegalArgumentException("Invalid number of shards");
+    if (policy == null) throw new IllegalArgumentException("Policy can not be null");
+
+    int count = 1;
+    while (count < shards) count <<= 1;
+    int sets = 1;
+    while ((long) sets * WAYS * count < capacity) sets <<= 1;
+    this.shards = new Shard[count];
+    for (int i = 0; i < count; i++) this.shards[i] = new Shard(sets, policy == Policy.TINY_LFU);
+    this.shardMask = count - 1;
+  }
+
+  /**
+   * Pack an evaluation into the value stored in the cache.
+   * @param cell the best cell, {@code r * columns + c}, from 0 to 65535
+   * @param score the score, any int but {@link Integer#MIN_VALUE}
+   * @param depth the depth searched, from 0 to 65535
+   * @return the packed evaluation
+   */
+  public static long pack(int cell, int score, int depth) {
+    return (long) score << 32 | (depth & 0xFFFFL) << 16 | (cell & 0xFFFFL);
+  }
+
+  /**
+   * Return the best cell of a packed evaluation.
+   * @param entry the evaluation
+   * @return the cell
+   */
+  public static int cellOf(long entry) {
+    return (int) (entry & 0xFFFF);
+  }
+
+  /**
+   * Return the score of a packed evaluation.
+   * @param entry the evaluation
+   * @return the score
+   */
+  public static int scoreOf(long entry) {
+    return (int) (entry >> 32);
+  }
+
+  /**
+   * Return the depth of a packed evaluation.
+   * @param entry the evaluation
+   * @return the depth
+   */
+  public static int depthOf(long entry) {
+    return (int) ((entry >>> 16) & 0xFFFF);
+  }
+
+  /**
+   * Look up the evaluation of a position.
+   * @param key the key of the position
+   * @return the packed evaluation, or {@link #MISS}
+   */
+  public long lookup(long key) {
+    long hash = mix(key);
+    long entry = this.shards[(int) hash & this.shardMask].lookup(key, hash);
+    if (entry == MISS) {
+      this.misses.increment();
+    } else {
+      this.hits.increment();
+    }
+    return entry;
+  }
+
+  /**
+   * Store the evaluation of a position. An entry already in the cache is only replaced by one
+   * searched at least as deep.
+   * @param key the key of the position
+   * @param cell the best cell, {@code r * columns + c}, from 0 to 65535
+   * @param score the score, any int but {@link Integer#MIN_VALUE}
+   * @param depth the depth searched, from 0 to 65535
+   * @throws IllegalArgumentException if a value is out of range
+   */
+  public void store(long key, int cell, int score, int depth) throws IllegalArgumentException {
+    if (cell < 0 || cell > 0xFFFF || depth < 0 || depth > 0xFFFF || score == Integer.MIN_VALUE) {
+      throw new IllegalArgumentException("Evaluation out of range");
+    }
+    long hash = mix(key);
+    this.shards[(int) hash & this.shardMask].store(key, hash, pack(cell, score, depth), this);
+  }
+
+  /**
+   * Return the number of lookups that found their key.
+   * @return the hits
+   */
+  public long getHits() {
+    return this.hits.sum();
+  }
+
+  /**
+   * Return the number of lookups that did not find their key.
+   * @return the misses
+   */
+  public long getMisses() {
+    return this.misses.sum();
+  }
+
+  /**
+   * Return the number of entries replaced to make room for another key.
+   * @return the evictions
+   */
+  public long getEvictions() {
+    return this.evictions.sum();
+  }
+
+  /**
+   * Return the number of new entries not admitted because the victim was used more often.
+   * @return the rejections, always 0 with {@link Policy#LRU}
+   */
+  public long getRejections() {
+    return this.rejections.sum();
+  }
+
+  /**
+   * Return the most entries the cache can hold, the requested capacity after rounding.
+   * @return the allocated capacity
+   */
+  public int getCapacity() {
+    return this.shards.length * this.shards[0].keys.length;
+  }
+
+  /**
+   * Return the number of entries in the cache.
+   * @return the size
+   */
+  public int size() {
+    int size = 0;
+    for (Shard shard : this.shards) {
+      synchronized (shard) {
+        size += shard.size;
+      }
+    }
+    return size;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d/%d entries, %d hits, %d misses, %d evictions, %d rejections",
+        this.size(), this.getCapacity(), this.getHits(), this.getMisses(), this.getEvictions(),
+        this.getRejections());
+  }
+
+  /**
+   * The SplitMix64 finalizer, so keys that differ in a few bits, like small canonical keys, land
+   * in different shards and sets.
+   * @param key the key
+   * @return a well mixed hash
+   */
+  private static long mix(long key) {
+    long z = key * 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /**
+   * One shard: sets of {@link #WAYS} slots in parallel arrays, a clock for the access times and,
+   * with admission, the frequency sketch. Every method holds the lock of the shard.
+   */
+  private static final class Shard {
+    private final long[] keys;
+    private final long[] values;
+    //Access time of each slot, 0 for an empty slot.
+    private final long[] stamps;
+    private final int setMask;
+    private final FrequencySketch sketch;
+    private long clock;
+    private int size;
+
+    private Shard(int sets, boolean counted) {
+      this.keys = new long[sets * WAYS];
+      this.values = new long[this.keys.length];
+      this.stamps = new long[this.keys.length];
+      this.setMask = sets - 1;
+      this.sketch = counted ? new FrequencySketch(this.keys.length) : null;
+    }
+
+    private synchronized long lookup(long key, long hash) {
+      if (this.sketch != null) this.sketch.increment(hash);
+      int base = this.set(hash);
+      for (int i = base; i < base + WAYS; i++) {
+        if (this.stamps[i] != 0 && this.keys[i] == key) {
+          this.stamps[i] = ++this.clock;
+          return this.values[i];
+        }
+      }
+      return MISS;
+    }
+
+    private synchronized void store(long key, long hash, long value, EvaluationCache cache) {
+      int base = this.set(hash);
+      int victim = base;
+      for (int i = base; i < base + WAYS; i++) {
+        if (this.stamps[i] != 0 && this.keys[i] == key) {
+          if (depthOf(value) >= depthOf(this.values[i])) this.values[i] = value;
+          this.stamps[i] = ++this.clock;
+          return;
+        }
+        if (this.stamps[i] < this.stamps[victim]) victim = i;
+      }
+
+      if (this.stamps[victim] == 0) {
+        this.size++;
+      } else {
+        if (this.sketch != null
+            && this.sketch.frequency(hash) <= this.sketch.frequency(mix(this.keys[victim]))) {
+          cache.rejections.increment();
+          return;
+        }
+        cache.evictions.increment();
+      }
+      this.keys[victim] = key;
+      this.values[victim] = value;
+      this.stamps[victim] = ++this.clock;
+    }
+
+    /**
+     * Return the first slot of the set of a key. The low bits of the hash choose the shard, so
+     * the set is taken from the high bits.
+     * @param hash the mixed key
+     * @return the index of the first slot
+     */
+    private int set(long hash) {
+      return ((int) (hash >>> 32) & this.setMask) * WAYS;
+    }
+  }
+
+  /**
+   * A count-min sketch of 4-bit counters, 16 to a long and 16 per slot of the shard, read
+   * through four hashes. After ten
+   * increments per counted slot every counter is halved, so old popularity fades.
+   */
+  private static final class FrequencySketch {
+    private static final long[] SEEDS = {
+        0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L
+    };
+
+    private final long[] table;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    private FrequencySketch(int slots) {
+      int counters = 256;
+      while (counters < 16L * slots) counters <<= 1;
+      this.table = new long[counters / 16];
+      this.mask = counters - 1;
+      this.sampleSize = 10 * slots;
+    }
+
+    private void increment(long hash) {
+      boolean added = false;
+      for (long seed : SEEDS) {
+        int index = this.index(hash, seed);
+        int shift = (index & 15) << 2;
+        long word = this.table[index >>> 4];
+        if (((word >>> shift) & 0xF) != 0xF) {
+          this.table[index >>> 4] = word + (1L << shift);
+          added = true;
+        }
+      }
+      if (added && ++this.additions == this.sampleSize) this.halve();
+    }
+
+    private int frequency(long hash) {
+      int min = 0xF;
+      for (long seed : SEEDS) {
+        int index = this.index(hash, seed);
+        min = Math.min(min, (int) ((this.table[index >>> 4] >>> ((index & 15) << 2)) & 0xF));
+      }
+      return min;
+    }
+
+    private int index(long hash, long seed) {
+      long h = (hash ^ seed) * 0x9E3779B97F4A7C15L;
+      return (int) (h >>> 32) & this.mask;
+    }
+
+    private void halve() {
+      for (int i = 0; i < this.table.length; i++) this.table[i] = (this.table[i] >>> 1) & 0x7777777777777777L;
+      this.additions /= 2;
+    }
+  }
+}
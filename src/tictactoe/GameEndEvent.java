@@ -0,0 +1,33 @@
+package tictactoe;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of a game played by a controller ending, whether it was won, tied or
+ * quit. Its duration is the whole game.
+ */
+@Name("tictactoe.GameEnd")
+@Label("Game End")
+@Category("Tic Tac Toe")
+@Description("A game played by a controller ended")
+@Enabled(false)
+@StackTrace(false)
+public class GameEndEvent extends Event {
+
+  @Label("Winner")
+  @Description("X or O, null for a tie or a game that was quit")
+  public String winner;
+
+  @Label("Moves")
+  @Description("Moves played during the game")
+  public int moves;
+
+  @Label("Quit")
+  public boolean quit;
+}
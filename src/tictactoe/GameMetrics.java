@@ -0,0 +1,286 @@
+package tictactoe;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Counters and a move latency histogram of the models and controllers of a process. The hooks in
+ * {@link TicTacToeModel#move(int, int)} and {@link TicTacToeConsoleController} only record when
+ * the JVM is started with {@code -Dtictactoe.metrics=true}; {@link #ENABLED} is a static final
+ * flag, so with metrics off the JIT removes the hooks entirely. The metrics shared by the hooks are
+ * returned by {@link #global()}, which registers them as an MXBean the first time it is called.
+ * Every counter is a {@link LongAdder} and the histogram is lock-free, so recording never blocks.
+ */
+public final class GameMetrics implements GameMetricsMXBean {
+
+  /** Whether the models and controllers record metrics. */
+  public static final boolean ENABLED = Boolean.getBoolean("tictactoe.metrics");
+
+  /** The JMX name of the metrics returned by {@link #global()}. */
+  public static final String OBJECT_NAME = "tictactoe:type=GameMetrics";
+
+  private final LatencyHistogram moveLatency = new LatencyHistogram();
+  private final LongAdder invalidMoves = new LongAdder();
+  private final LongAdder invalidNumbers = new LongAdder();
+  private final LongAdder gamesStarted = new LongAdder();
+  private final LongAdder gamesFinished = new LongAdder();
+  private final LongAdder gamesQuit = new LongAdder();
+  private final LongAdder outputChars = new LongAdder();
+  private volatile long since = System.nanoTime();
+
+  /**
+   * Holds the global metrics, so they are only created and registered when first used.
+   */
+  private static final class Global {
+    static final GameMetrics METRICS = register(new GameMetrics());
+  }
+
+  /**
+   * Return the metrics shared by the models and controllers, registering them on the platform
+   * MBean server the first time.
+   * @return the global metrics
+   * @throws IllegalStateException if the MXBean can not be registered
+   */
+  public static GameMetrics global() throws IllegalStateException {
+    return Global.METRICS;
+  }
+
+  /**
+   * Record the latency of a move.
+   * @param nanos the time the move took in nanoseconds
+   */
+  public void recordMove(long nanos) {
+    this.moveLatency.record(nanos);
+  }
+
+  /**
+   * Count a move rejected by a model.
+   */
+  public void invalidMove() {
+    this.invalidMoves.increment();
+  }
+
+  /**
+   * Count an input that was not a number.
+   */
+  public void invalidNumber() {
+    this.invalidNumbers.increment();
+  }
+
+  /**
+   * Count a game started.
+   */
+  public void gameStarted() {
+    this.gamesStarted.increment();
+  }
+
+  /**
+   * Count a game played to the end.
+   */
+  public void gameFinished() {
+    this.gamesFinished.increment();
+  }
+
+  /**
+   * Count a game the player quit.
+   */
+  public void gameQuit() {
+    this.gamesQuit.increment();
+  }
+
+  /**
+   * Wrap an output so every character appended to it is counted.
+   * @param out the output of a controller
+   * @return an Appendable that appends to out and counts the characters, and that is
+   *     {@link Flushable} so flushes still reach out
+   */
+  public Appendable count(Appendable out) {
+    return new CountingAppendable(out, this.outputChars);
+  }
+
+  /**
+   * Return the histogram of the move latencies.
+   * @return the live histogram
+   */
+  public LatencyHistogram getMoveLatency() {
+    return this.moveLatency;
+  }
+
+  @Override
+  public long getMoves() {
+    return this.moveLatency.getCount();
+  }
+
+  @Override
+  public long getMoveLatencyP50() {
+    return this.moveLatency.getValueAtPercentile(50);
+  }
+
+  @Override
+  public long getMoveLatencyP99() {
+    return this.moveLatency.getValueAtPercentile(99);
+  }
+
+  @Override
+  public long getMoveLatencyP999() {
+    return this.moveLatency.getValueAtPercentile(99.9);
+  }
+
+  @Override
+  public long getMoveLatencyMax() {
+    return this.moveLatency.getMax();
+  }
+
+  @Override
+  public double getMoveLatencyMean() {
+    return this.moveLatency.getMean();
+  }
+
+  @Override
+  public long getInvalidMoves() {
+    return this.invalidMoves.sum();
+  }
+
+  @Override
+  public long getInvalidNumbers() {
+    return this.invalidNumbers.sum();
+  }
+
+  @Override
+  public long getGamesStarted() {
+    return this.gamesStarted.sum();
+  }
+
+  @Override
+  public long getGamesFinished() {
+    return this.gamesFinished.sum();
+  }
+
+  @Override
+  public long getGamesQuit() {
+    return this.gamesQuit.sum();
+  }
+
+  @Override
+  public double getQuitRate() {
+    long started = this.gamesStarted.sum();
+    return started == 0 ? 0 : (double) this.gamesQuit.sum() / started;
+  }
+
+  @Override
+  public double getGamesPerSecond() {
+    double seconds = (System.nanoTime() - this.since) / 1e9;
+    return seconds <= 0 ? 0 : (this.gamesFinished.sum() + this.gamesQuit.sum()) / seconds;
+  }
+
+  @Override
+  public long getOutputChars() {
+    return this.outputChars.sum();
+  }
+
+  @Override
+  public String getSnapshot() {
+    StringBuilder out = new StringBuilder();
+    try {
+      this.dump(out);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+    return out.toString();
+  }
+
+  /**
+   * Append every metric to an output, one {@code name value} pair per line.
+   * @param out the output
+   * @throws IOException if the output fails
+   */
+  public void dump(Appendable out) throws IOException {
+    line(out, "moves", this.getMoves());
+    line(out, "move.latency.p50.ns", this.getMoveLatencyP50());
+    line(out, "move.latency.p99.ns", this.getMoveLatencyP99());
+    line(out, "move.latency.p999.ns", this.getMoveLatencyP999());
+    line(out, "move.latency.max.ns", this.getMoveLatencyMax());
+    line(out, "move.latency.mean.ns",
+        String.format(Locale.ROOT, "%.1f", this.getMoveLatencyMean()));
+    line(out, "invalid.moves", this.getInvalidMoves());
+    line(out, "invalid.numbers", this.getInvalidNumbers());
+    line(out, "games.started", this.getGamesStarted());
+    line(out, "games.finished", this.getGamesFinished());
+    line(out, "games.quit", this.getGamesQuit());
+    line(out, "quit.rate", String.format(Locale.ROOT, "%.3f", this.getQuitRate()));
+    line(out, "games.per.second", String.format(Locale.ROOT, "%.1f", this.getGamesPerSecond()));
+    line(out, "output.chars", this.getOutputChars());
+  }
+
+  @Override
+  public void reset() {
+    this.moveLatency.reset();
+    this.invalidMoves.reset();
+    this.invalidNumbers.reset();
+    this.gamesStarted.reset();
+    this.gamesFinished.reset();
+    this.gamesQuit.reset();
+    this.outputChars.reset();
+    this.since = System.nanoTime();
+  }
+
+  private static void line(Appendable out, String name, Object value) throws IOException {
+    out.append(name).append(' ').append(String.valueOf(value)).append('\n');
+  }
+
+  private static GameMetrics register(GameMetrics metrics) {
+    try {
+      ManagementFactory.getPlatformMBeanServer()
+          .registerMBean(metrics, new ObjectName(OBJECT_NAME));
+    } catch (JMException e) {
+      throw new IllegalStateException("Metrics can not be registered", e);
+    }
+    return metrics;
+  }
+
+  /**
+   * An Appendable that counts the characters appended to another one, and passes flushes on to
+   * it when it can be flushed.
+   */
+  private static final class CountingAppendable implements Appendable, Flushable {
+    private final Appendable out;
+    private final LongAdder chars;
+
+    CountingAppendable(Appendable out, LongAdder chars) {
+      this.out = out;
+      this.chars = chars;
+    }
+
+    @Override
+    public Appendable append(CharSequence csq) throws IOException {
+      this.out.append(csq);
+      this.chars.add(csq == null ? 4 : csq.length());
+      return this;
+    }
+
+    @Override
+    public Appendable append(CharSequence csq, int start, int end) throws IOException {
+      this.out.append(csq, start, end);
+      this.chars.add(end - start);
+      return this;
+    }
+
+    @Override
+    public Appendable append(char c) throws IOException {
+      this.out.append(c);
+      this.chars.increment();
+      return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+      if (this.out instanceof Flushable) ((Flushable) this.out).flush();
+    }
+  }
+}
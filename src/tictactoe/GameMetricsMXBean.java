@@ -0,0 +1,103 @@
+package tictactoe;
+
+/**
+ * The management interface of {@link GameMetrics}, registered on the platform MBean server as
+ * {@value GameMetrics#OBJECT_NAME}. Latencies are in nanoseconds.
+ */
+public interface GameMetricsMXBean {
+
+  /**
+   * Return the number of moves played on the models.
+   * @return the number of moves
+   */
+  long getMoves();
+
+  /**
+   * Return the median latency of a move.
+   * @return the median in nanoseconds
+   */
+  long getMoveLatencyP50();
+
+  /**
+   * Return the 99th percentile latency of a move.
+   * @return the 99th percentile in nanoseconds
+   */
+  long getMoveLatencyP99();
+
+  /**
+   * Return the 99.9th percentile latency of a move.
+   * @return the 99.9th percentile in nanoseconds
+   */
+  long getMoveLatencyP999();
+
+  /**
+   * Return the largest latency of a move.
+   * @return the maximum in nanoseconds
+   */
+  long getMoveLatencyMax();
+
+  /**
+   * Return the mean latency of a move.
+   * @return the mean in nanoseconds
+   */
+  double getMoveLatencyMean();
+
+  /**
+   * Return the number of moves rejected by a model.
+   * @return the number of invalid moves
+   */
+  long getInvalidMoves();
+
+  /**
+   * Return the number of inputs that were not numbers.
+   * @return the number of invalid numbers
+   */
+  long getInvalidNumbers();
+
+  /**
+   * Return the number of games started.
+   * @return the number of games started
+   */
+  long getGamesStarted();
+
+  /**
+   * Return the number of games played to the end.
+   * @return the number of games finished
+   */
+  long getGamesFinished();
+
+  /**
+   * Return the number of games the player quit.
+   * @return the number of games quit
+   */
+  long getGamesQuit();
+
+  /**
+   * Return the share of started games that were quit.
+   * @return the quit rate, from 0 to 1
+   */
+  double getQuitRate();
+
+  /**
+   * Return the number of games finished or quit per second since the metrics were last reset.
+   * @return the games per second
+   */
+  double getGamesPerSecond();
+
+  /**
+   * Return the number of characters appended to the output of the controllers.
+   * @return the number of characters
+   */
+  long getOutputChars();
+
+  /**
+   * Return every metric as text, one per line.
+   * @return the text snapshot
+   */
+  String getSnapshot();
+
+  /**
+   * Clear every metric.
+   */
+  void reset();
+}
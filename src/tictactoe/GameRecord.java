@@ -0,0 +1,162 @@
+package tictactoe;
+
+/**
+ * This class represents one archived three-by-three game: the cells played in order and how
+ * the game ended. The moves are packed into a single long, four bits per cell index
+ * ({@code 3 * r + c}), move {@code i} in bits {@code 4i} to {@code 4i + 3}, which is also how
+ * {@link GameRecordWriter} lays them out on disk. Records are immutable.
+ */
+public final class GameRecord {
+
+  /** The game ended with a full board and no winner. */
+  public static final int TIE = 0;
+  /** The game ended with X winning. */
+  public static final int X_WINS = 1;
+  /** The game ended with O winning. */
+  public static final int O_WINS = 2;
+  /** The game was quit before it ended. */
+  public static final int UNFINISHED = 3;
+  /** The most moves a game can have. */
+  public static final int MAX_MOVES = 9;
+
+  private final long moves;
+  private final int count;
+  private final int result;
+
+  /**
+   * Constructor of GameRecord.
+   * @param cells the cells played, in order, each {@code 3 * r + c}
+   * @param result {@link #TIE}, {@link #X_WINS}, {@link #O_WINS} or {@link #UNFINISHED}
+   * @throws IllegalArgumentException if there are too many moves, a cell is outside the board
+   *     or the result is unknown
+   */
+  public GameRecord(int[] cells, int result) throws IllegalArgumentException {
+    this(pack(cells), cells.length, result);
+  }
+
+  /**
+   * Constructor of GameRecord from moves already packed.
+   * @param moves the packed cells
+   * @param count the number of moves
+   * @param result how the game ended
+   * @throws IllegalArgumentException if the count or the result is out of range
+   */
+  GameRecord(long moves, int count, int result) throws IllegalArgumentException {
+    if (count < 0 || count > MAX_MOVES) throw new IllegalArgumentException("Invalid move count");
+    if (result < TIE || result > UNFINISHED) throw new IllegalArgumentException("Invalid result");
+
+    this.moves = moves;
+    this.count = count;
+    this.result = result;
+  }
+
+  /**
+   * Return the number of moves played.
+   * @return the move count
+   */
+  public int getMoveCount() {
+    return this.count;
+  }
+
+  /**
+   * Return the cell played by a move.
+   * @param i the index of the move, from 0
+   * @return the cell, {@code 3 * r + c}
+   * @throws IllegalArgumentException if there is no such move
+   */
+  public int getCell(int i) throws IllegalArgumentException {
+    if (i < 0 || i >= this.count) throw new IllegalArgumentException("No such move");
+    return (int) (this.moves >>> (4 * i)) & 0xF;
+  }
+
+  /**
+   * Return how the game ended.
+   * @return {@link #TIE}, {@link #X_WINS}, {@link #O_WINS} or {@link #UNFINISHED}
+   */
+  public int getResult() {
+    return this.result;
+  }
+
+  /**
+   * Return the winner.
+   * @return the winner, or null for a tie or an unfinished game
+   */
+  public Player getWinner() {
+    return this.result == X_WINS ? Player.X : this.result == O_WINS ? Player.O : null;
+  }
+
+  /**
+   * Play the recorded moves on a game.
+   * @param m a three-by-three game, normally new
+   * @throws IllegalArgumentException if a move is not valid on that game
+   * @throws IllegalStateException if the game ends before the moves do
+   */
+  public void replay(TicTacToe m) throws IllegalArgumentException, IllegalStateException {
+    for (int i = 0; i < this.count; i++) {
+      int cell = (int) (this.moves >>> (4 * i)) & 0xF;
+      m.move(cell / 3, cell % 3);
+    }
+  }
+
+  /**
+   * Return the result a game ended with.
+   * @param m a game
+   * @return {@link #TIE}, {@link #X_WINS}, {@link #O_WINS} or {@link #UNFINISHED}
+   */
+  public static int resultOf(TicTacToe m) {
+    if (!m.isGameOver()) return UNFINISHED;
+    Player winner = m.getWinner();
+    return winner == null ? TIE : winner == Player.X ? X_WINS : O_WINS;
+  }
+
+  /**
+   * Return the packed moves.
+   * @return four bits per move
+   */
+  long getMoves() {
+    return this.moves;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof GameRecord)) return false;
+    GameRecord other = (GameRecord) o;
+    return this.moves == other.moves && this.count == other.count && this.result == other.result;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * (31 * Long.hashCode(this.moves) + this.count) + this.result;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("[");
+    for (int i = 0; i < this.count; i++) {
+      int cell = this.getCell(i);
+      if (i > 0) sb.append(' ');
+      sb.append(cell / 3).append(',').append(cell % 3);
+    }
+    return sb.append("] ").append(describe(this.result)).toString();
+  }
+
+  /**
+   * Return the name of a result.
+   * @param result a result
+   * @return for example {@code X wins}
+   */
+  static String describe(int result) {
+    return result == TIE ? "tie" : result == X_WINS ? "X wins" : result == O_WINS ? "O wins" : "unfinished";
+  }
+
+  private static long pack(int[] cells) throws IllegalArgumentException {
+    if (cells.length > MAX_MOVES) throw new IllegalArgumentException("Invalid move count");
+    long moves = 0;
+    for (int i = 0; i < cells.length; i++) {
+      if (cells[i] < 0 || cells[i] > 8) throw new IllegalArgumentException("Out of boundary");
+      moves |= (long) cells[i] << (4 * i);
+    }
+    return moves;
+  }
+}
@@ -0,0 +1,141 @@
+package tictactoe;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * This class reads the games written by {@link GameRecordWriter} from a {@link FileChannel},
+ * one block at a time, so a file of any size is read with a single block of memory. Blocks are
+ * read at absolute positions and the channel position is never changed, so several readers can
+ * share one channel. The reader does not close the channel.
+ */
+public class GameRecordReader {
+
+  private final FileChannel channel;
+  private final ByteBuffer block;
+  private final long end;
+  private long nextBlock;
+  private long blockStart;
+  private long offset;
+
+  /**
+   * Constructor of GameRecordReader, it checks the file header and reads the whole file.
+   * @param channel a channel open for reading on a record file
+   * @throws IOException if the channel can not be read
+   * @throws IllegalArgumentException if the file is not a record file
+   */
+  public GameRecordReader(FileChannel channel) throws IOException, IllegalArgumentException {
+    this(channel, 0, Long.MAX_VALUE);
+  }
+
+  /**
+   * Constructor of GameRecordReader, it checks the file header and reads a range of blocks, so
+   * a file can be split between readers.
+   * @param channel a channel open for reading on a record file
+   * @param firstBlock the index of the first block to read
+   * @param blocks the number of blocks to read, at most up to the end of the file
+   * @throws IOException if the channel can not be read
+   * @throws IllegalArgumentException if the file is not a record file or the range is negative
+   */
+  public GameRecordReader(FileChannel channel, long firstBlock, long blocks)
+      throws IOException, IllegalArgumentException {
+    if (firstBlock < 0 || blocks < 0) throw new IllegalArgumentException("Invalid block range");
+
+    ByteBuffer header = ByteBuffer.allocate(GameRecordWriter.HEADER);
+    int n = 0;
+    while (header.hasRemaining() && n >= 0) n = channel.read(header, header.position());
+    if (header.hasRemaining() || header.getInt(0) != GameRecordWriter.MAGIC
+        || header.getInt(4) != GameRecordWriter.VERSION || header.getInt(8) != GameRecordWriter.BLOCK_SIZE) {
+      throw new IllegalArgumentException("Not a game record file");
+    }
+
+    this.channel = channel;
+    this.block = ByteBuffer.allocate(GameRecordWriter.BLOCK_SIZE);
+    this.block.limit(0);
+    long size = channel.size();
+    long first = Math.min(firstBlock, blockCount(size));
+    long last = Math.min(blockCount(size), first + Math.min(blocks, blockCount(size)));
+    this.nextBlock = GameRecordWriter.HEADER + first * GameRecordWriter.BLOCK_SIZE;
+    this.end = Math.min(size, GameRecordWriter.HEADER + last * GameRecordWriter.BLOCK_SIZE);
+    this.offset = -1;
+  }
+
+  /**
+   * Return the number of blocks in a record file.
+   * @param channel a channel open on a record file
+   * @return the block count, the last block may be shorter than the others
+   * @throws IOException if the size of the file can not be read
+   */
+  public static long getBlockCount(FileChannel channel) throws IOException {
+    return blockCount(channel.size());
+  }
+
+  /**
+   * Read the next game. When a record is corrupt the rest of its block is skipped, so reading
+   * can go on with the next block after the exception.
+   * @return the game, or null at the end of the file
+   * @throws StreamCorruptedException if the record is corrupt
+   * @throws IOException if the channel can not be read
+   */
+  public GameRecord read() throws IOException {
+    while (true) {
+      if (!this.block.hasRemaining()) {
+        if (!this.nextBlock()) return null;
+        continue;
+      }
+
+      int position = this.block.position();
+      int head = this.block.get() & 0xFF;
+      if (head == (GameRecordWriter.PADDING & 0xFF)) {
+        //The rest of the block is padding
+        this.block.position(this.block.limit());
+        continue;
+      }
+
+      this.offset = this.blockStart + position;
+      int count = head >>> 2;
+      int bytes = (count + 1) / 2;
+      if (count > GameRecord.MAX_MOVES || bytes > this.block.remaining()) {
+        this.block.position(this.block.limit());
+        throw new StreamCorruptedException("Corrupt record at offset " + this.offset);
+      }
+      long moves = 0;
+      for (int i = 0; i < bytes; i++) moves |= (long) (this.block.get() & 0xFF) << (8 * i);
+      //Drop the unused high nibble of an odd move count
+      moves &= (1L << (4 * count)) - 1;
+      return new GameRecord(moves, count, head & 0x3);
+    }
+  }
+
+  /**
+   * Return where the last game read, or the last corrupt record, starts in the file.
+   * @return the byte offset, or -1 before the first read
+   */
+  public long getOffset() {
+    return this.offset;
+  }
+
+  private static long blockCount(long size) {
+    return Math.max(0, size - GameRecordWriter.HEADER + GameRecordWriter.BLOCK_SIZE - 1) / GameRecordWriter.BLOCK_SIZE;
+  }
+
+  /**
+   * Load the next block.
+   * @return false at the end of the file
+   */
+  private boolean nextBlock() throws IOException {
+    if (this.nextBlock >= this.end) return false;
+
+    this.block.clear();
+    this.block.limit((int) Math.min(GameRecordWriter.BLOCK_SIZE, this.end - this.nextBlock));
+    while (this.block.hasRemaining()) {
+      if (this.channel.read(this.block, this.nextBlock + this.block.position()) < 0) break;
+    }
+    this.block.flip();
+    this.blockStart = this.nextBlock;
+    this.nextBlock += GameRecordWriter.BLOCK_SIZE;
+    return true;
+  }
+}
@@ -0,0 +1,116 @@
+package tictactoe;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class appends {@link GameRecord}s to a file in a compact binary format.
+ * The file has a 12 byte header (magic, version, block size, big endian) followed by blocks of
+ * {@link #BLOCK_SIZE} bytes, the last one possibly shorter. Each record is one header byte,
+ * {@code moves << 2 | result}, followed by the cells packed two per byte, the first move of a
+ * pair in the low nibble, so a game takes at most 6 bytes. A record never crosses a block: when
+ * it does not fit, the rest of the block is padded with {@code 0xFF}, which is never a valid
+ * record header. Every block can therefore be read on its own.
+ * Records are buffered a block at a time; the writer is thread-safe so simulator threads can
+ * share it.
+ */
+public class GameRecordWriter implements Closeable, Flushable {
+
+  static final int MAGIC = 0x54545447; //"TTTG"
+  static final int VERSION = 1;
+  static final int HEADER = 12;
+  /** The size of a block of records in the file. */
+  public static final int BLOCK_SIZE = 1 << 16;
+  static final byte PADDING = (byte) 0xFF;
+  //The largest record, a header byte and 9 cells.
+  static final int MAX_RECORD = 1 + (GameRecord.MAX_MOVES + 1) / 2;
+
+  private final FileChannel channel;
+  private final ByteBuffer block;
+  //Bytes of the current block already written to the file.
+  private int flushed;
+  private long records;
+
+  /**
+   * Constructor of GameRecordWriter, it creates the file or replaces its content.
+   * @param file the file to write
+   * @throws IOException if the file can not be written
+   */
+  public GameRecordWriter(Path file) throws IOException {
+    this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    this.block = ByteBuffer.allocate(BLOCK_SIZE);
+
+    ByteBuffer header = ByteBuffer.allocate(HEADER);
+    header.putInt(MAGIC).putInt(VERSION).putInt(BLOCK_SIZE);
+    header.flip();
+    while (header.hasRemaining()) this.channel.write(header);
+  }
+
+  /**
+   * Append a game.
+   * @param record the game
+   * @throws IOException if the file can not be written
+   */
+  public synchronized void write(GameRecord record) throws IOException {
+    if (this.block.remaining() < MAX_RECORD) {
+      while (this.block.hasRemaining()) this.block.put(PADDING);
+      this.writeBlock();
+    }
+
+    int count = record.getMoveCount();
+    long moves = record.getMoves();
+    this.block.put((byte) (count << 2 | record.getResult()));
+    for (int i = 0; i < count; i += 2) this.block.put((byte) (moves >>> (4 * i)));
+    this.records++;
+  }
+
+  /**
+   * Return the number of games written so far.
+   * @return the record count
+   */
+  public synchronized long getRecordCount() {
+    return this.records;
+  }
+
+  /**
+   * Write the buffered games to the file. The current block stays open, so later games keep
+   * filling it.
+   * @throws IOException if the file can not be written
+   */
+  @Override
+  public synchronized void flush() throws IOException {
+    ByteBuffer pending = this.block.duplicate();
+    pending.flip().position(this.flushed);
+    while (pending.hasRemaining()) this.channel.write(pending);
+    this.flushed = pending.position();
+  }
+
+  /**
+   * Flush the buffered games and close the file.
+   * @throws IOException if the file can not be written
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    if (!this.channel.isOpen()) return;
+    try {
+      this.flush();
+    } finally {
+      this.channel.close();
+    }
+  }
+
+  /**
+   * Write the rest of a full block and start a new one.
+   */
+  private void writeBlock() throws IOException {
+    this.flush();
+    this.block.clear();
+    this.flushed = 0;
+  }
+}
@@ -0,0 +1,188 @@
+package tictactoe;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * This class replays a file written by {@link GameRecordWriter} through the {@link TicTacToe}
+ * interface and checks that every game ends with its recorded result. The blocks of the file
+ * are split into ranges on a {@link ForkJoinPool}, and every leaf range reads its blocks with
+ * its own reader and replays all of its games on a single model that is
+ * {@link ResettableTicTacToe#reset() reset} between games, so replaying allocates almost nothing per game.
+ */
+public class GameReplayer {
+
+  //Blocks replayed by a leaf task before it stops splitting, about 64 thousand games each.
+  private static final int LEAF_BLOCKS = 4;
+  //Failures kept per report, the rest are only counted.
+  private static final int MAX_FAILURES = 1000;
+
+  private final Supplier<? extends ResettableTicTacToe> models;
+
+  /**
+   * Constructor of GameReplayer. The supplier is called once per leaf task.
+   * @param models creates a three-by-three game, for example {@code BitboardTicTacToeModel::new}
+   * @throws IllegalArgumentException if the supplier is null
+   */
+  public GameReplayer(Supplier<? extends ResettableTicTacToe> models) throws IllegalArgumentException {
+    if (models == null) throw new IllegalArgumentException("Supplier can not be null");
+    this.models = models;
+  }
+
+  /**
+   * Replay a file on the common fork-join pool.
+   * @param file the record file
+   * @return the report of the replay
+   * @throws IOException if the file can not be read
+   * @throws IllegalArgumentException if the file is not a record file
+   */
+  public ReplayReport replay(Path file) throws IOException, IllegalArgumentException {
+    return this.replay(file, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Replay a file on the given pool.
+   * @param file the record file
+   * @param pool the pool that replays the games
+   * @return the report of the replay
+   * @throws IOException if the file can not be read
+   * @throws IllegalArgumentException if the file is not a record file or the pool is null
+   */
+  public ReplayReport replay(Path file, ForkJoinPool pool) throws IOException, IllegalArgumentException {
+    if (pool == null) throw new IllegalArgumentException("Pool can not be null");
+
+    long start = System.nanoTime();
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      //Checks the header before any task starts
+      new GameRecordReader(channel, 0, 0);
+      Tally tally = pool.invoke(new Range(channel, 0, GameRecordReader.getBlockCount(channel)));
+      return new ReplayReport(tally.games, tally.moves, tally.results, tally.failureCount,
+          tally.failures, System.nanoTime() - start);
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Replay one record and check its result.
+   * @param record the record
+   * @param m a game, reset by this method
+   * @return null if the game replays to its result, otherwise what went wrong
+   */
+  static String check(GameRecord record, ResettableTicTacToe m) {
+    m.reset();
+    for (int i = 0; i < record.getMoveCount(); i++) {
+      int cell = record.getCell(i);
+      try {
+        if (cell > 8) throw new IllegalArgumentException("Out of boundary");
+        m.move(cell / 3, cell % 3);
+      } catch (IllegalArgumentException e) {
+        return "Move " + (i + 1) + " is not valid: " + e.getMessage();
+      } catch (IllegalStateException e) {
+        return "Move " + (i + 1) + " is played after the end of the game";
+      }
+    }
+
+    int actual = GameRecord.resultOf(m);
+    if (actual == record.getResult()) return null;
+    return "Recorded " + GameRecord.describe(record.getResult()) + " but replayed "
+        + GameRecord.describe(actual);
+  }
+
+  /**
+   * Counters of a range of blocks.
+   */
+  private static final class Tally {
+    private long games;
+    private long moves;
+    private final long[] results = new long[4];
+    private long failureCount;
+    private final List<ReplayReport.Failure> failures = new ArrayList<>();
+
+    private void fail(long offset, String message) {
+      this.failureCount++;
+      if (this.failures.size() < MAX_FAILURES) this.failures.add(new ReplayReport.Failure(offset, message));
+    }
+
+    private Tally merge(Tally later) {
+      this.games += later.games;
+      this.moves += later.moves;
+      for (int i = 0; i < this.results.length; i++) this.results[i] += later.results[i];
+      this.failureCount += later.failureCount;
+      //Ranges are merged in file order, so the failures stay sorted by offset
+      for (int i = 0; i < later.failures.size() && this.failures.size() < MAX_FAILURES; i++) {
+        this.failures.add(later.failures.get(i));
+      }
+      return this;
+    }
+  }
+
+  /**
+   * A range of blocks, split in half until it is small enough to replay directly.
+   */
+  private final class Range extends RecursiveTask<Tally> {
+    private static final long serialVersionUID = 1L;
+
+    private final FileChannel channel;
+    private final long first;
+    private final long blocks;
+
+    private Range(FileChannel channel, long first, long blocks) {
+      this.channel = channel;
+      this.first = first;
+      this.blocks = blocks;
+    }
+
+    @Override
+    protected Tally compute() {
+      if (this.blocks <= LEAF_BLOCKS) {
+        try {
+          return this.replay();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+
+      Range left = new Range(this.channel, this.first, this.blocks / 2);
+      Range right = new Range(this.channel, this.first + this.blocks / 2, this.blocks - this.blocks / 2);
+      left.fork();
+      Tally tally = right.compute();
+      return left.join().merge(tally);
+    }
+
+    private Tally replay() throws IOException {
+      Tally tally = new Tally();
+      ResettableTicTacToe m = models.get();
+      GameRecordReader reader = new GameRecordReader(this.channel, this.first, this.blocks);
+      while (true) {
+        GameRecord record;
+        try {
+          record = reader.read();
+        } catch (StreamCorruptedException e) {
+          tally.games++;
+          tally.fail(reader.getOffset(), "Corrupt record, the rest of its block is skipped");
+          continue;
+        }
+        if (record == null) return tally;
+
+        tally.games++;
+        tally.moves += record.getMoveCount();
+        String failure = check(record, m);
+        if (failure == null) {
+          tally.results[record.getResult()]++;
+        } else {
+          tally.fail(reader.getOffset(), failure);
+        }
+      }
+    }
+  }
+}
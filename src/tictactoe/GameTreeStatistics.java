@@ -0,0 +1,99 @@
+package tictactoe;
+
+/**
+ * This class represents the statistics of a whole game tree, as counted by
+ * {@link GameTreeEnumerator}: every distinct game with its outcome and length, and the number of
+ * distinct positions reachable from the empty board. It is immutable.
+ */
+public final class GameTreeStatistics {
+
+  private final long xWins;
+  private final long oWins;
+  private final long draws;
+  private final long[] lengths;
+  private final long positions;
+  private final long elapsedNanos;
+
+  /**
+   * Constructor of GameTreeStatistics.
+   * @param xWins number of games won by X
+   * @param oWins number of games won by O
+   * @param draws number of tie games
+   * @param lengths {@code lengths[n]} is the number of games that ended after n moves
+   * @param positions number of distinct positions, the empty board included
+   * @param elapsedNanos wall clock time of the enumeration
+   */
+  GameTreeStatistics(long xWins, long oWins, long draws, long[] lengths, long positions,
+                     long elapsedNanos) {
+    this.xWins = xWins;
+    this.oWins = oWins;
+    this.draws = draws;
+    this.lengths = lengths.clone();
+    this.positions = positions;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * Return the number of distinct games.
+   * @return the number of games
+   */
+  public long getGames() {
+    return this.xWins + this.oWins + this.draws;
+  }
+
+  /**
+   * Return the number of games won by X.
+   * @return X wins
+   */
+  public long getXWins() {
+    return this.xWins;
+  }
+
+  /**
+   * Return the number of games won by O.
+   * @return O wins
+   */
+  public long getOWins() {
+    return this.oWins;
+  }
+
+  /**
+   * Return the number of tie games.
+   * @return draws
+   */
+  public long getDraws() {
+    return this.draws;
+  }
+
+  /**
+   * Return how many games ended after exactly the given number of moves.
+   * @param moves the length of the game
+   * @return the number of games of that length
+   */
+  public long getGamesOfLength(int moves) {
+    return moves >= 0 && moves < this.lengths.length ? this.lengths[moves] : 0;
+  }
+
+  /**
+   * Return the number of distinct positions reachable from the empty board, the empty board and
+   * the final positions included.
+   * @return the number of positions
+   */
+  public long getPositions() {
+    return this.positions;
+  }
+
+  /**
+   * Return the wall clock time of the enumeration.
+   * @return the elapsed time in nanoseconds
+   */
+  public long getElapsedNanos() {
+    return this.elapsedNanos;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d games: X %d, O %d, draws %d; %d positions (%.1f s)",
+        this.getGames(), this.xWins, this.oWins, this.draws, this.positions, this.elapsedNanos / 1e9);
+  }
+}
@@ -0,0 +1,70 @@
+package tictactoe;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+/**
+ * A strategy that reads the moves of a person from a {@link Readable}, as a row and a column
+ * numbered from 1, with the same rules and messages as {@link TicTacToeConsoleController}: a token
+ * that is not a number is rejected with {@code Not a valid number} and keeps the row already read,
+ * and a move off the board or on a taken position is rejected with {@code Not a valid move}.
+ * Entering {@code q} or {@code Q} quits the game. When both players read from the same input, use
+ * one instance for both so no input is buffered away from the other player.
+ */
+public class HumanStrategy implements MoveStrategy {
+
+  private final InputTokenizer tokens;
+  private final Appendable out;
+
+  /**
+   * Constructor of HumanStrategy.
+   * @param in the source of the moves
+   * @param out where the error messages are written
+   * @throws IllegalArgumentException if any argument is null
+   */
+  public HumanStrategy(Readable in, Appendable out) throws IllegalArgumentException {
+    if (in == null || out == null) throw new IllegalArgumentException("Input and output can not be null");
+    this.tokens = new InputTokenizer(in);
+    this.out = out;
+  }
+
+  /**
+   * Read moves until a valid one is entered.
+   * @param m a game that is not over
+   * @return the move, or null if the player quit
+   * @throws IllegalStateException if the input ends or the output fails
+   */
+  @Override
+  public Move chooseMove(TicTacToe m) throws IllegalStateException {
+    try {
+      while (true) {
+        //An invalid number keeps the row, so only the missing values are read again
+        int row = 0;
+        int column = 0;
+        boolean hasRow = false;
+        while (true) {
+          int token = this.tokens.next();
+          if (token == InputTokenizer.QUIT) return null;
+          if (token == InputTokenizer.OTHER) {
+            this.out.append("Not a valid number: ").append(this.tokens.text()).append('\n');
+          } else if (!hasRow) {
+            row = this.tokens.intValue();
+            hasRow = true;
+          } else {
+            column = this.tokens.intValue();
+            break;
+          }
+        }
+
+        if (row >= 1 && column >= 1 && row <= m.getRows() && column <= m.getColumns()
+            && m.getMarkAt(row - 1, column - 1) == null) {
+          return new Move(row - 1, column - 1);
+        }
+        this.out.append("Not a valid move: ").append(Integer.toString(row))
+            .append(", ").append(Integer.toString(column)).append('\n');
+      }
+    } catch (IOException | NoSuchElementException e) {
+      throw new IllegalStateException("No move was entered");
+    }
+  }
+}
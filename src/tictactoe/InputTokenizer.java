@@ -0,0 +1,171 @@
+package tictactoe;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads whitespace separated tokens from a {@link Readable} and classifies each one as an int,
+ * the quit command ({@code q} or {@code Q}) or anything else. It accepts the same ints as
+ * {@link java.util.Scanner#nextInt()} in the default locale (an optional sign, decimal digits and
+ * correctly placed grouping separators, within the int range), but it parses them by hand from a
+ * reused buffer, without regular expressions or boxing.
+ */
+final class InputTokenizer {
+
+  /** The token is an int, read it with {@link #intValue()}. */
+  static final int INT = 0;
+  /** The token is {@code q} or {@code Q}. */
+  static final int QUIT = 1;
+  /** The token is anything else. */
+  static final int OTHER = 2;
+
+  private final Readable in;
+  private final CharBuffer buffer;
+  private final StringBuilder token;
+  private final char groupSeparator;
+  private boolean exhausted;
+  private int value;
+
+  /**
+   * Constructor of InputTokenizer.
+   * @param in the source of the input
+   */
+  InputTokenizer(Readable in) {
+    this.in = in;
+    this.buffer = CharBuffer.allocate(1024);
+    this.buffer.flip();
+    this.token = new StringBuilder(16);
+    this.groupSeparator = groupSeparator();
+    this.exhausted = false;
+  }
+
+  /**
+   * Read the next token.
+   * @return {@link #INT}, {@link #QUIT} or {@link #OTHER}
+   * @throws NoSuchElementException if the input has no more tokens
+   */
+  int next() throws NoSuchElementException {
+    this.token.setLength(0);
+
+    int ch = this.read();
+    while (ch >= 0 && Character.isWhitespace(ch)) ch = this.read();
+    if (ch < 0) throw new NoSuchElementException();
+
+    while (ch >= 0 && !Character.isWhitespace(ch)) {
+      this.token.append((char) ch);
+      ch = this.read();
+    }
+
+    if (isQuit(this.token)) return QUIT;
+    long parsed = parseInt(this.token, this.groupSeparator);
+    if (parsed == Long.MIN_VALUE) return OTHER;
+    this.value = (int) parsed;
+    return INT;
+  }
+
+  /**
+   * Return the value of the last token, when it was an int.
+   * @return the int value
+   */
+  int intValue() {
+    return this.value;
+  }
+
+  /**
+   * Return the text of the last token. It is only valid until the next call to {@link #next()}.
+   * @return the token text
+   */
+  CharSequence text() {
+    return this.token;
+  }
+
+  /**
+   * Return the grouping separator that ints may contain, the one of the default locale.
+   * @return the separator
+   */
+  static char groupSeparator() {
+    return DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT)).getGroupingSeparator();
+  }
+
+  /**
+   * Return whether a token is the quit command.
+   * @param token the token
+   * @return true for {@code q} or {@code Q}
+   */
+  static boolean isQuit(CharSequence token) {
+    return token.length() == 1 && (token.charAt(0) == 'q' || token.charAt(0) == 'Q');
+  }
+
+  /**
+   * Parse a token as an int, with the same rules as {@link java.util.Scanner}.
+   * @param token the token
+   * @param groupSeparator the grouping separator, see {@link #groupSeparator()}
+   * @return the value, or {@link Long#MIN_VALUE} if the token is not an int
+   */
+  static long parseInt(CharSequence token, char groupSeparator) {
+    int length = token.length();
+    int i = 0;
+    boolean negative = false;
+    if (length > 0 && (token.charAt(0) == '-' || token.charAt(0) == '+')) {
+      negative = token.charAt(0) == '-';
+      i = 1;
+    }
+    if (i == length) return Long.MIN_VALUE;
+
+    //A grouped numeral starts with 1 to 3 digits, the first not 0, then groups of 3 digits.
+    boolean grouped = false;
+    for (int j = i; j < length && !grouped; j++) grouped = token.charAt(j) == groupSeparator;
+    long result = 0;
+    int digitsInGroup = 0;
+    for (int j = i; j < length; j++) {
+      char ch = token.charAt(j);
+      if (grouped && ch == groupSeparator) {
+        if (digitsInGroup == 0 || (j - digitsInGroup == i ? digitsInGroup > 3 : digitsInGroup != 3)) {
+          return Long.MIN_VALUE;
+        }
+        digitsInGroup = 0;
+        continue;
+      }
+      int digit = Character.digit(ch, 10);
+      if (digit < 0) return Long.MIN_VALUE;
+      if (grouped && j == i && digit == 0) return Long.MIN_VALUE;
+      digitsInGroup++;
+      result = 10 * result + digit;
+      if (result > (long) Integer.MAX_VALUE + 1) return Long.MIN_VALUE;
+    }
+    if (grouped && digitsInGroup != 3) return Long.MIN_VALUE;
+
+    result = negative ? -result : result;
+    return result > Integer.MAX_VALUE ? Long.MIN_VALUE : result;
+  }
+
+  /**
+   * Read one character, refilling the buffer from the readable when it is empty.
+   * @return the character, or -1 at the end of the input
+   */
+  private int read() {
+    if (!this.buffer.hasRemaining()) {
+      if (this.exhausted) return -1;
+      this.buffer.clear();
+      int n;
+      try {
+        //Readables may return 0 characters, keep asking until something or the end arrives.
+        do {
+          n = this.in.read(this.buffer);
+        } while (n == 0);
+      } catch (IOException e) {
+        //Like Scanner, a failing source is treated as the end of the input.
+        n = -1;
+      }
+      this.buffer.flip();
+      if (n < 0) {
+        this.exhausted = true;
+        return -1;
+      }
+    }
+    return this.buffer.get();
+  }
+}
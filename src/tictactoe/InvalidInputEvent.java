@@ -0,0 +1,30 @@
+package tictactoe;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of a controller rejecting an input, either a token that is not a number
+ * or a move the model does not allow.
+ */
+@Name("tictactoe.InvalidInput")
+@Label("Invalid Input")
+@Category("Tic Tac Toe")
+@Description("A controller rejected an input")
+@Enabled(false)
+@StackTrace(false)
+public class InvalidInputEvent extends Event {
+
+  @Label("Input")
+  @Description("The token, or the row and column as entered")
+  public String input;
+
+  @Label("Move")
+  @Description("True for a move the model rejected, false for a token that is not a number")
+  public boolean move;
+}
@@ -0,0 +1,128 @@
+package tictactoe;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of latencies in nanoseconds that any number of threads can record into without
+ * locks. Buckets are log-linear, like HdrHistogram: values below {@value #SUB_BUCKETS} have a
+ * bucket each, and every higher power of two is split into {@value #SUB_BUCKETS} buckets of equal
+ * width, so a percentile is reported within about 3% of the recorded value over the whole range of
+ * a long. Recording is a single atomic increment of the bucket, plus a compare-and-set only when
+ * the maximum grows.
+ */
+public final class LatencyHistogram {
+
+  /** Number of buckets of each power of two. */
+  public static final int SUB_BUCKETS = 32;
+
+  private static final int SUB_BITS = 5;
+  //The powers of two from 2^5 to 2^62 each add a row of buckets to the first 32 values
+  private static final int BUCKETS = (63 - SUB_BITS + 1) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Record a latency. Negative values, from a clock going backwards, are recorded as zero.
+   * @param nanos the latency in nanoseconds
+   */
+  public void record(long nanos) {
+    long v = Math.max(0, nanos);
+    this.counts.incrementAndGet(index(v));
+    this.count.increment();
+    this.sum.add(v);
+    long m;
+    while (v > (m = this.max.get()) && !this.max.compareAndSet(m, v)) {
+      //another thread raised the maximum, compare again
+    }
+  }
+
+  /**
+   * Return the number of latencies recorded.
+   * @return the number of latencies
+   */
+  public long getCount() {
+    return this.count.sum();
+  }
+
+  /**
+   * Return the largest latency recorded.
+   * @return the exact maximum in nanoseconds, 0 if nothing was recorded
+   */
+  public long getMax() {
+    return this.max.get();
+  }
+
+  /**
+   * Return the mean of the latencies recorded.
+   * @return the exact mean in nanoseconds, 0 if nothing was recorded
+   */
+  public double getMean() {
+    long n = this.count.sum();
+    return n == 0 ? 0 : (double) this.sum.sum() / n;
+  }
+
+  /**
+   * Return the latency below or at which a given percentage of the latencies fall.
+   * @param percentile the percentage, from 0 to 100
+   * @return the highest value of the bucket holding that percentile, at most the maximum,
+   *     0 if nothing was recorded
+   * @throws IllegalArgumentException if the percentile is not between 0 and 100
+   */
+  public long getValueAtPercentile(double percentile) throws IllegalArgumentException {
+    if (!(percentile >= 0 && percentile <= 100)) throw new IllegalArgumentException("Invalid percentile");
+
+    long total = 0;
+    long[] snapshot = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = this.counts.get(i);
+      total += snapshot[i];
+    }
+    if (total == 0) return 0;
+
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) return Math.min(highest(i), this.max.get());
+    }
+    return this.max.get();
+  }
+
+  /**
+   * Clear every latency. Latencies recorded by other threads at the same time may be partly kept.
+   */
+  public void reset() {
+    for (int i = 0; i < BUCKETS; i++) this.counts.set(i, 0);
+    this.count.reset();
+    this.sum.reset();
+    this.max.set(0);
+  }
+
+  /**
+   * Return the bucket of a value.
+   * @param v a value, not negative
+   * @return its bucket
+   */
+  private static int index(long v) {
+    if (v < SUB_BUCKETS) return (int) v;
+    int exp = 63 - Long.numberOfLeadingZeros(v);
+    return (exp - SUB_BITS + 1) * SUB_BUCKETS + (int) ((v >>> (exp - SUB_BITS)) & (SUB_BUCKETS - 1));
+  }
+
+  /**
+   * Return the highest value of a bucket.
+   * @param index the bucket
+   * @return the highest value that falls in it
+   */
+  private static long highest(int index) {
+    if (index < SUB_BUCKETS) return index;
+    int shift = index / SUB_BUCKETS - 1;
+    long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+}
@@ -1,5 +1,6 @@
 package tictactoe;
 
+import java.io.IOException;
 import java.io.InputStreamReader;
 
 /**
@@ -7,11 +8,51 @@ import java.io.InputStreamReader;
  */
 public class Main {
   /**
-   * Run a Tic Tac Toe game interactively on the console.
+   * Run a Tic Tac Toe game interactively on the console, or host games for remote players
+   * with {@code --server [port] [max sessions]}, or host hot-seat games on a few event-loop
+   * threads with {@code --nio-server [port] [event loops]}, or play X against the computer with
+   * {@code --versus [solver|mcts|random]}. With {@code -Dtictactoe.metrics=true} the metrics of
+   * a console game are dumped to the standard error when it ends.
    */
-  public static void main(String[] args) {
+  public static void main(String[] args) throws IOException, InterruptedException {
+
+    if (args.length > 0 && args[0].equals("--server")) {
+      int port = args.length > 1 ? Integer.parseInt(args[1]) : 4000;
+      int sessions = args.length > 2 ? Integer.parseInt(args[2]) : 10000;
+      GameServer server = new GameServer(port, sessions);
+      server.start();
+      System.out.println("Listening on port " + server.getPort());
+      server.join();
+      return;
+    }
+
+    if (args.length > 0 && args[0].equals("--nio-server")) {
+      int port = args.length > 1 ? Integer.parseInt(args[1]) : 4000;
+      int loops = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+      NioGameServer server = new NioGameServer(port, loops);
+      server.start();
+      System.out.println("Listening on port " + server.getPort());
+      server.join();
+      return;
+    }
+
+    if (args.length > 0 && args[0].equals("--versus")) {
+      String kind = args.length > 1 ? args[1] : "solver";
+      MoveStrategy computer;
+      if (kind.equals("mcts")) {
+        computer = new MctsStrategy(0, 1000, Runtime.getRuntime().availableProcessors());
+      } else if (kind.equals("random")) {
+        computer = new RandomStrategy();
+      } else {
+        computer = new SolverStrategy(new TicTacToeSolver());
+      }
+      HumanStrategy human = new HumanStrategy(new InputStreamReader(System.in), System.out);
+      new StrategyGameController(human, computer, System.out, 0).playGame(new TicTacToeModel());
+      return;
+    }
 
     new TicTacToeConsoleController(new InputStreamReader(System.in),
         System.out).playGame(new TicTacToeModel());
+    if (GameMetrics.ENABLED) GameMetrics.global().dump(System.err);
   }
 }
@@ -0,0 +1,416 @@
+package tictactoe;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A strategy that plays any board, of any size and win length, with Monte Carlo tree search.
+ * The search is root-parallel: every worker grows its own tree from the current position on the
+ * fork-join pool, and when it is done adds the statistics of its root moves to shared atomic
+ * counters, so the workers never lock and never share a node. The most visited move wins.
+ * Trees are kept as parallel primitive arrays and each iteration adds one node; random playouts
+ * run on a compact byte copy of the board that is restored with {@code System.arraycopy}, so a
+ * playout does not allocate. Every search stops when either its playout budget or its time
+ * budget runs out, or at the deadline given by a caller such as
+ * {@link StrategyGameController}. An instance should only be used by one thread at a time.
+ */
+public class MctsStrategy implements MoveStrategy {
+
+  //UCB1 exploration constant, with rewards between 0 and 1.
+  private static final double EXPLORATION = Math.sqrt(2);
+  //Playouts between two reads of the clock.
+  private static final int CLOCK_INTERVAL = 32;
+
+  private final long playouts;
+  private final long nanos;
+  private final int threads;
+  private final SplittableRandom random;
+  private long lastPlayouts;
+
+  /**
+   * Constructor of MctsStrategy. A budget of zero means no limit, but at least one budget must
+   * be set.
+   * @param playouts the most random playouts per move, over all workers
+   * @param millis the most time spent per move, in milliseconds
+   * @param threads the number of trees searched in parallel
+   * @throws IllegalArgumentException if a budget is negative, both budgets are zero, or the
+   *     number of threads is not positive
+   */
+  public MctsStrategy(long playouts, long millis, int threads) throws IllegalArgumentException {
+    this(playouts, millis, threads, new SplittableRandom());
+  }
+
+  /**
+   * Constructor of MctsStrategy with a fixed seed. The moves are only repeatable with a
+   * playout budget and one thread.
+   * @param playouts the most random playouts per move, over all workers
+   * @param millis the most time spent per move, in milliseconds
+   * @param threads the number of trees searched in parallel
+   * @param seed the seed of the random generators
+   * @throws IllegalArgumentException if a budget is negative, both budgets are zero, or the
+   *     number of threads is not positive
+   */
+  public MctsStrategy(long playouts, long millis, int threads, long seed) throws IllegalArgumentException {
+    this(playouts, millis, threads, new SplittableRandom(seed));
+  }
+
+  private MctsStrategy(long playouts, long millis, int threads, SplittableRandom random) {
+    if (playouts < 0 || millis < 0) throw new IllegalArgumentException("Budget can not be negative");
+    if (playouts == 0 && millis == 0) throw new IllegalArgumentException("Budget can not be unlimited");
+    if (threads < 1) throw new IllegalArgumentException("Invalid number of threads");
+
+    this.playouts = playouts == 0 ? Long.MAX_VALUE : playouts;
+    this.nanos = millis == 0 ? Long.MAX_VALUE : millis * 1_000_000;
+    this.threads = threads;
+    this.random = random;
+  }
+
+  @Override
+  public Move chooseMove(TicTacToe m) throws IllegalStateException {
+    return this.chooseMove(m, Long.MAX_VALUE);
+  }
+
+  /**
+   * Choose a move, stopping the search at the deadline or at the time budget of this strategy,
+   * whichever comes first.
+   * @param m a game that is not over
+   * @param deadlineNanos the {@link System#nanoTime()} by which the move should be chosen
+   * @return the most visited move
+   * @throws IllegalStateException if the game is over
+   */
+  @Override
+  public Move chooseMove(TicTacToe m, long deadlineNanos) throws IllegalStateException {
+    if (m.isGameOver()) throw new IllegalStateException("Game has been completed");
+
+    Board root = new Board(m);
+    if (root.size == 1) {
+      this.lastPlayouts = 0;
+      return root.move(root.empty[0]);
+    }
+
+    long deadline = this.nanos == Long.MAX_VALUE ? Long.MAX_VALUE : System.nanoTime() + this.nanos;
+    deadline = Math.min(deadline, deadlineNanos);
+    AtomicLongArray visits = new AtomicLongArray(root.cells.length);
+    AtomicLongArray rewards = new AtomicLongArray(root.cells.length);
+    Worker[] workers = new Worker[this.threads];
+    for (int i = 0; i < workers.length; i++) {
+      long budget = this.playouts == Long.MAX_VALUE ? Long.MAX_VALUE
+          : this.playouts / this.threads + (i < this.playouts % this.threads ? 1 : 0);
+      workers[i] = new Worker(root, budget, deadline, this.random.split(), visits, rewards);
+    }
+    ForkJoinTask.invokeAll(List.of(workers));
+
+    long total = 0;
+    int bestCell = -1;
+    for (int cell = 0; cell < root.cells.length; cell++) {
+      if (root.cells[cell] != Board.EMPTY) continue;
+      long v = visits.get(cell);
+      total += v;
+      if (bestCell < 0 || v > visits.get(bestCell)
+          || v == visits.get(bestCell) && rewards.get(cell) > rewards.get(bestCell)) {
+        bestCell = cell;
+      }
+    }
+    this.lastPlayouts = total;
+    return root.move(bestCell);
+  }
+
+  /**
+   * Return the number of playouts run for the last move, over all workers.
+   * @return the playouts of the last call to {@link #chooseMove(TicTacToe)}
+   */
+  public long getLastPlayouts() {
+    return this.lastPlayouts;
+  }
+
+  /**
+   * One search tree, grown from the root position until the budget runs out.
+   */
+  private static final class Worker extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final Board root;
+    private final Board board;
+    private final long budget;
+    private final long deadline;
+    private final SplittableRandom random;
+    private final AtomicLongArray visits;
+    private final AtomicLongArray rewards;
+
+    //Node arrays: the cell played to reach the node, its first child and next sibling, the
+    //number of children added so far, the visits, and the reward of the player who moved into
+    //the node in half points (2 for a win, 1 for a draw).
+    private int[] cell = new int[1024];
+    private int[] child = new int[1024];
+    private int[] sibling = new int[1024];
+    private int[] expanded = new int[1024];
+    private int[] count = new int[1024];
+    private long[] reward = new long[1024];
+    private int nodes;
+    private final int[] path;
+
+    private Worker(Board root, long budget, long deadline, SplittableRandom random,
+                   AtomicLongArray visits, AtomicLongArray rewards) {
+      this.root = root;
+      this.board = new Board(root);
+      this.budget = budget;
+      this.deadline = deadline;
+      this.random = random;
+      this.visits = visits;
+      this.rewards = rewards;
+      this.path = new int[root.size + 1];
+    }
+
+    @Override
+    protected void compute() {
+      this.newNode(-1);
+      for (long i = 0; i < this.budget; i++) {
+        if (i % CLOCK_INTERVAL == 0 && System.nanoTime() >= this.deadline) break;
+        this.iterate();
+      }
+      for (int n = this.child[0]; n != 0; n = this.sibling[n]) {
+        this.visits.addAndGet(this.cell[n], this.count[n]);
+        this.rewards.addAndGet(this.cell[n], this.reward[n]);
+      }
+    }
+
+    /**
+     * Select a path down the tree, add one node, play a random game from it and back up the
+     * result.
+     */
+    private void iterate() {
+      Board b = this.board;
+      b.copy(this.root);
+      int depth = 0;
+      int node = 0;
+      this.path[0] = 0;
+      int winner = Board.EMPTY;
+
+      while (winner == Board.EMPTY && b.size > 0) {
+        if (this.expanded[node] < b.size) {
+          //Add the next untried move, the k-th empty cell in row-major order
+          int next = b.emptyCell(this.expanded[node]++);
+          int added = this.newNode(next);
+          this.sibling[added] = this.child[node];
+          this.child[node] = added;
+          node = added;
+          this.path[++depth] = node;
+          winner = b.play(next);
+          if (winner == Board.EMPTY && b.size > 0) winner = b.rollout(this.random);
+          break;
+        }
+        node = this.select(node);
+        this.path[++depth] = node;
+        winner = b.play(this.cell[node]);
+      }
+
+      //The mover into the node at an odd depth is the player to move at the root
+      int rootTurn = this.root.turn;
+      for (int d = 0; d <= depth; d++) {
+        int n = this.path[d];
+        this.count[n]++;
+        int mover = (d & 1) == 1 ? rootTurn : Board.other(rootTurn);
+        if (winner == mover) {
+          this.reward[n] += 2;
+        } else if (winner == Board.EMPTY) {
+          this.reward[n] += 1;
+        }
+      }
+    }
+
+    /**
+     * Pick the child with the highest upper confidence bound.
+     * @param node a node with all its children added
+     * @return the chosen child
+     */
+    private int select(int node) {
+      double log = Math.log(this.count[node]);
+      double best = Double.NEGATIVE_INFINITY;
+      int chosen = -1;
+      for (int n = this.child[node]; n != 0; n = this.sibling[n]) {
+        double value = this.reward[n] / (2.0 * this.count[n])
+            + EXPLORATION * Math.sqrt(log / this.count[n]);
+        if (value > best) {
+          best = value;
+          chosen = n;
+        }
+      }
+      return chosen;
+    }
+
+    /**
+     * Add a node, growing the arrays when they are full.
+     * @param move the cell played to reach the node
+     * @return the index of the node
+     */
+    private int newNode(int move) {
+      if (this.nodes == this.cell.length) {
+        int length = 2 * this.nodes;
+        this.cell = Arrays.copyOf(this.cell, length);
+        this.child = Arrays.copyOf(this.child, length);
+        this.sibling = Arrays.copyOf(this.sibling, length);
+        this.expanded = Arrays.copyOf(this.expanded, length);
+        this.count = Arrays.copyOf(this.count, length);
+        this.reward = Arrays.copyOf(this.reward, length);
+      }
+      int n = this.nodes++;
+      this.cell[n] = move;
+      return n;
+    }
+  }
+
+  /**
+   * A compact board: one byte per cell and an unordered list of the empty cells, so a random
+   * move is picked and played in constant time.
+   */
+  private static final class Board {
+    private static final byte EMPTY = 0;
+    private static final byte X = 1;
+    private static final byte O = 2;
+
+    private final int rows;
+    private final int columns;
+    private final int winLength;
+    private final byte[] cells;
+    //The first size entries of empty are the empty cells, where maps a cell to its entry.
+    private final int[] empty;
+    private final int[] where;
+    private int size;
+    private int turn;
+
+    /**
+     * Copy the position of a game.
+     * @param m the game
+     */
+    private Board(TicTacToe m) {
+      this.rows = m.getRows();
+      this.columns = m.getColumns();
+      this.winLength = m.getWinLength();
+      this.cells = new byte[this.rows * this.columns];
+      this.empty = new int[this.cells.length];
+      this.where = new int[this.cells.length];
+      for (int r = 0; r < this.rows; r++) {
+        for (int c = 0; c < this.columns; c++) {
+          Player p = m.getMarkAt(r, c);
+          int cell = r * this.columns + c;
+          if (p == null) {
+            this.where[cell] = this.size;
+            this.empty[this.size++] = cell;
+          } else {
+            this.cells[cell] = p == Player.X ? X : O;
+          }
+        }
+      }
+      this.turn = m.getTurn() == Player.X ? X : O;
+    }
+
+    /**
+     * Create a board of the same size as another one.
+     * @param other the board to copy
+     */
+    private Board(Board other) {
+      this.rows = other.rows;
+      this.columns = other.columns;
+      this.winLength = other.winLength;
+      this.cells = new byte[other.cells.length];
+      this.empty = new int[other.empty.length];
+      this.where = new int[other.where.length];
+      this.copy(other);
+    }
+
+    /**
+     * Restore the position of another board of the same size.
+     * @param other the board to copy
+     */
+    private void copy(Board other) {
+      System.arraycopy(other.cells, 0, this.cells, 0, this.cells.length);
+      System.arraycopy(other.empty, 0, this.empty, 0, this.empty.length);
+      System.arraycopy(other.where, 0, this.where, 0, this.where.length);
+      this.size = other.size;
+      this.turn = other.turn;
+    }
+
+    /**
+     * Return the k-th empty cell in row-major order, which does not depend on the order of the
+     * empty list.
+     * @param k the index among the empty cells
+     * @return the cell
+     */
+    private int emptyCell(int k) {
+      for (int cell = 0; cell < this.cells.length; cell++) {
+        if (this.cells[cell] == EMPTY && k-- == 0) return cell;
+      }
+      throw new IllegalStateException("There is no empty position");
+    }
+
+    /**
+     * Mark an empty cell for the player to move.
+     * @param cell the cell
+     * @return the player that won with this move, or {@link #EMPTY}
+     */
+    private int play(int cell) {
+      int player = this.turn;
+      this.cells[cell] = (byte) player;
+      int last = this.empty[--this.size];
+      this.empty[this.where[cell]] = last;
+      this.where[last] = this.where[cell];
+      this.turn = other(player);
+      return this.wins(cell, player) ? player : EMPTY;
+    }
+
+    /**
+     * Play random moves until the game ends.
+     * @param random the random generator
+     * @return the winner, or {@link #EMPTY} for a tie
+     */
+    private int rollout(SplittableRandom random) {
+      while (this.size > 0) {
+        int winner = this.play(this.empty[random.nextInt(this.size)]);
+        if (winner != EMPTY) return winner;
+      }
+      return EMPTY;
+    }
+
+    /**
+     * Check if the mark at a cell completes a line in any of the four directions.
+     * @param cell the cell just played
+     * @param player the player at that cell
+     * @return true if the player has enough marks in a row
+     */
+    private boolean wins(int cell, int player) {
+      int r = cell / this.columns;
+      int c = cell % this.columns;
+      return this.line(r, c, 0, 1, player) || this.line(r, c, 1, 0, player)
+          || this.line(r, c, 1, 1, player) || this.line(r, c, 1, -1, player);
+    }
+
+    private boolean line(int r, int c, int dr, int dc, int player) {
+      return 1 + this.countFrom(r, c, dr, dc, player) + this.countFrom(r, c, -dr, -dc, player)
+          >= this.winLength;
+    }
+
+    private int countFrom(int r, int c, int dr, int dc, int player) {
+      int count = 0;
+      for (int i = 1; i < this.winLength; i++) {
+        int row = r + i * dr;
+        int col = c + i * dc;
+        if (row < 0 || col < 0 || row >= this.rows || col >= this.columns) break;
+        if (this.cells[row * this.columns + col] != player) break;
+        count++;
+      }
+      return count;
+    }
+
+    private Move move(int cell) {
+      return new Move(cell / this.columns, cell % this.columns);
+    }
+
+    private static int other(int player) {
+      return player == X ? O : X;
+    }
+  }
+}
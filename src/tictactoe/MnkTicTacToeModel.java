@@ -0,0 +1,186 @@
+package tictactoe;
+
+import java.util.Arrays;
+
+/**
+ * This class represents a generalized TicTacToe game (an m,n,k-game): the board has a configurable
+ * number of rows and columns, and a player wins by placing a configurable number of markers in a
+ * row. After each move only the cells within {@code k - 1} positions of the new mark are scanned
+ * in the four directions, so the cost of a move does not grow with the size of the board.
+ * This class implements the TicTacToe Interface.
+ */
+public class MnkTicTacToeModel implements ResettableTicTacToe {
+
+  //Horizontal, vertical, diagonal and anti diagonal steps as {row, column}.
+  private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+  private final int rows;
+  private final int columns;
+  private final int winLength;
+  //Row-major cells, a null value is an empty position.
+  private final Player[] cells;
+  private int round;
+  private Player winner;
+  private long key;
+
+  /**
+   * Constructor of MnkTicTacToeModel, it creates an empty board of the given size.
+   * @param rows number of rows of the board
+   * @param columns number of columns of the board
+   * @param winLength number of markers in a row needed to win
+   * @throws IllegalArgumentException if a dimension is not positive, or the win length can not
+   *     fit on the board
+   */
+  public MnkTicTacToeModel(int rows, int columns, int winLength) throws IllegalArgumentException {
+    if (rows < 1 || columns < 1) throw new IllegalArgumentException("Invalid board size");
+    if (winLength < 1 || winLength > Math.max(rows, columns)) {
+      throw new IllegalArgumentException("Invalid win length");
+    }
+
+    this.rows = rows;
+    this.columns = columns;
+    this.winLength = winLength;
+    this.cells = new Player[rows * columns];
+    this.round = 0;
+    this.winner = null;
+  }
+
+  @Override
+  public void move(int r, int c) throws IllegalArgumentException, IllegalStateException {
+
+    //Check if the game has ended
+    if (this.isGameOver()) throw new IllegalStateException("Game has been completed");
+    //the position is invalid
+    this.OutOfBoundary(r, c);
+    //Check if the position is occupied
+    if (this.cells[r * this.columns + c] != null) throw new IllegalArgumentException("Position is taken");
+
+    //Add Player to this position.
+    Player player = this.getTurn();
+    this.cells[r * this.columns + c] = player;
+    this.round++;
+    this.key ^= Zobrist.of(r * this.columns + c, player);
+
+    for (int[] d : DIRECTIONS) {
+      int count = 1 + this.countFrom(r, c, d[0], d[1], player)
+          + this.countFrom(r, c, -d[0], -d[1], player);
+      if (count >= this.winLength) {
+        this.winner = player;
+        return;
+      }
+    }
+  }
+
+  @Override
+  public Player getTurn() {
+    return (this.round & 1) == 0 ? Player.X : Player.O;
+  }
+
+  @Override
+  public boolean isGameOver() {
+    //game has a winner or is full
+    return this.winner != null || this.round >= this.cells.length;
+  }
+
+  @Override
+  public Player getWinner() {
+    return this.winner;
+  }
+
+  @Override
+  public Player[][] getBoard() {
+    Player[][] board = new Player[this.rows][this.columns];
+    for (int r = 0; r < this.rows; r++) {
+      System.arraycopy(this.cells, r * this.columns, board[r], 0, this.columns);
+    }
+    return board;
+  }
+
+  @Override
+  public Player getMarkAt(int r, int c) throws IllegalArgumentException {
+    //the position is otherwise invalid
+    this.OutOfBoundary(r, c);
+
+    return this.cells[r * this.columns + c];
+  }
+
+  @Override
+  public int getRows() {
+    return this.rows;
+  }
+
+  @Override
+  public int getColumns() {
+    return this.columns;
+  }
+
+  @Override
+  public int getWinLength() {
+    return this.winLength;
+  }
+
+  @Override
+  public BoardSnapshot snapshot() {
+    long[] x = new long[BoardSnapshot.words(this.cells.length)];
+    long[] o = new long[x.length];
+    for (int cell = 0; cell < this.cells.length; cell++) {
+      if (this.cells[cell] == Player.X) x[cell >>> 6] |= 1L << cell;
+      if (this.cells[cell] == Player.O) o[cell >>> 6] |= 1L << cell;
+    }
+    return new BoardSnapshot(this.rows, this.columns, x, o);
+  }
+
+  @Override
+  public void reset() {
+    Arrays.fill(this.cells, null);
+    this.round = 0;
+    this.winner = null;
+    this.key = 0;
+  }
+
+  @Override
+  public long getZobristKey() {
+    return this.key;
+  }
+
+  @Override
+  public String toString() {
+    return BoardRenderer.toString(this);
+  }
+
+  /**
+   * Count the consecutive marks of a player starting next to (r, c) in one direction. It never
+   * looks further than {@code winLength - 1} cells away.
+   * @param r the row of the last move
+   * @param c the column of the last move
+   * @param dr the row step
+   * @param dc the column step
+   * @param player the player to count
+   * @return the number of consecutive marks of the player in that direction
+   */
+  private int countFrom(int r, int c, int dr, int dc, Player player) {
+    int count = 0;
+    for (int i = 1; i < this.winLength; i++) {
+      int row = r + i * dr;
+      int col = c + i * dc;
+      if (row < 0 || col < 0 || row >= this.rows || col >= this.columns) break;
+      if (this.cells[row * this.columns + col] != player) break;
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * Check the coordinates of r and c are within the board
+   * @param r the row of the intended move
+   * @param c the column of the intended move
+   * @throws IllegalArgumentException When the column or row is greater or lower than board size
+   */
+  private void OutOfBoundary(int r, int c) throws IllegalArgumentException {
+
+    //the position is otherwise invalid
+    if (r < 0 || c < 0 || r >= this.rows || c >= this.columns) {
+      throw new IllegalArgumentException("Out of boundary");
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package tictactoe;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * This class keeps finished games for reuse, so callers that play many games, such as
+ * simulators and servers, do not allocate a new model (and its board) for every game. Every
+ * thread has its own small stack of idle models, bounded by the capacity, so borrowing and
+ * returning never lock and never contend. A model is {@link ResettableTicTacToe#reset() reset}
+ * when it is returned.
+ * @param <T> the type of game
+ */
+public final class ModelPool<T extends ResettableTicTacToe> {
+
+  private final Supplier<? extends T> factory;
+  private final int capacity;
+  private final ThreadLocal<Stack> stacks;
+  private final LongAdder created;
+
+  /**
+   * Constructor of ModelPool.
+   * @param factory creates a new game when the pool of the thread is empty
+   * @param capacity the most idle games kept per thread
+   * @throws IllegalArgumentException if the factory is null or the capacity is negative
+   */
+  public ModelPool(Supplier<? extends T> factory, int capacity) throws IllegalArgumentException {
+    if (factory == null) throw new IllegalArgumentException("Factory can not be null");
+    if (capacity < 0) throw new IllegalArgumentException("Capacity can not be negative");
+
+    this.factory = factory;
+    this.capacity = capacity;
+    this.stacks = ThreadLocal.withInitial(Stack::new);
+    this.created = new LongAdder();
+  }
+
+  /**
+   * Take a new game from the pool of the calling thread, or create one if it is empty.
+   * @return a game ready to play, X to move
+   */
+  public T borrow() {
+    Stack stack = this.stacks.get();
+    if (stack.size > 0) {
+      @SuppressWarnings("unchecked")
+      T m = (T) stack.items[--stack.size];
+      stack.items[stack.size] = null;
+      return m;
+    }
+    this.created.increment();
+    return this.factory.get();
+  }
+
+  /**
+   * Give a game back to the pool of the calling thread. The caller must not use it afterwards.
+   * @param m the game, finished or not
+   */
+  public void release(T m) {
+    Stack stack = this.stacks.get();
+    if (m == null || stack.size == this.capacity) return;
+    m.reset();
+    stack.items[stack.size++] = m;
+  }
+
+  /**
+   * Return the number of games the pool had to create so far, over all threads.
+   * @return the created games
+   */
+  public long getCreated() {
+    return this.created.sum();
+  }
+
+  /**
+   * The idle games of one thread.
+   */
+  private final class Stack {
+    private final ResettableTicTacToe[] items = new ResettableTicTacToe[capacity];
+    private int size;
+  }
+}
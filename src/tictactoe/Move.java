@@ -0,0 +1,76 @@
+package tictactoe;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class represents a move on the board, a row and a column numbered from 0 like the
+ * arguments of {@link TicTacToe#move(int, int)}. It is immutable.
+ */
+public final class Move {
+
+  private final int row;
+  private final int column;
+
+  /**
+   * Constructor of Move.
+   * @param row the row of the move
+   * @param column the column of the move
+   */
+  public Move(int row, int column) {
+    this.row = row;
+    this.column = column;
+  }
+
+  /**
+   * Return the row of this move.
+   * @return the row, numbered from 0
+   */
+  public int getRow() {
+    return this.row;
+  }
+
+  /**
+   * Return the column of this move.
+   * @return the column, numbered from 0
+   */
+  public int getColumn() {
+    return this.column;
+  }
+
+  /**
+   * Generate every legal move of a game, in row-major order. The list is empty if the game is
+   * over.
+   * @param m the game
+   * @return the empty positions of the board
+   */
+  public static List<Move> legalMoves(TicTacToe m) {
+    List<Move> moves = new ArrayList<>();
+    if (m.isGameOver()) return moves;
+
+    for (int r = 0; r < m.getRows(); r++) {
+      for (int c = 0; c < m.getColumns(); c++) {
+        if (m.getMarkAt(r, c) == null) moves.add(new Move(r, c));
+      }
+    }
+    return moves;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof Move)) return false;
+    Move other = (Move) o;
+    return this.row == other.row && this.column == other.column;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * this.row + this.column;
+  }
+
+  @Override
+  public String toString() {
+    return this.row + ", " + this.column;
+  }
+}
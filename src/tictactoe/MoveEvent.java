@@ -0,0 +1,29 @@
+package tictactoe;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of a move played on a model. Its duration is the time the model took to
+ * validate and play the move.
+ */
+@Name("tictactoe.Move")
+@Label("Move")
+@Category("Tic Tac Toe")
+@Description("A move played on a model")
+@Enabled(false)
+@StackTrace(false)
+public class MoveEvent extends Event {
+
+  @Label("Cell")
+  @Description("Row times the number of columns plus column, from 0")
+  public int cell;
+
+  @Label("Player")
+  public String player;
+}
@@ -0,0 +1,31 @@
+package tictactoe;
+
+/**
+ * A way of choosing moves for a player, so games can be played without typed input.
+ * A strategy may keep state between calls (a random generator, a cache), so an instance should
+ * only be used by one thread at a time unless the implementation says otherwise.
+ */
+public interface MoveStrategy {
+
+  /**
+   * Choose the next move for the player whose turn it is.
+   *
+   * @param m a game that is not over
+   * @return a legal move for {@code m.getTurn()}, or null if the player quits the game
+   * @throws IllegalStateException if the strategy can not find a move
+   */
+  Move chooseMove(TicTacToe m);
+
+  /**
+   * Choose the next move for the player whose turn it is, before a deadline. Strategies that can
+   * stop a search early should return by the deadline; by default the deadline is ignored.
+   *
+   * @param m a game that is not over
+   * @param deadlineNanos the {@link System#nanoTime()} by which the move should be chosen
+   * @return a legal move for {@code m.getTurn()}, or null if the player quits the game
+   * @throws IllegalStateException if the strategy can not find a move
+   */
+  default Move chooseMove(TicTacToe m, long deadlineNanos) {
+    return this.chooseMove(m);
+  }
+}
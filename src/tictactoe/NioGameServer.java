@@ -0,0 +1,233 @@
+package tictactoe;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class hosts games over TCP on a few event-loop threads instead of a thread per game.
+ * Every connection plays a hot-seat game (both players type on the same connection) with the
+ * same line protocol as {@link TicTacToeConsoleController}. An acceptor thread hands new
+ * connections round-robin to the event loops, each of which multiplexes its sessions on a
+ * {@link Selector} and never blocks on a single client.
+ */
+public class NioGameServer implements Closeable {
+
+  private final ServerSocketChannel server;
+  private final EventLoop[] loops;
+  private final Thread acceptor;
+  private final AtomicInteger openSessions;
+  private final AtomicLong acceptFailures;
+  private volatile boolean closed;
+
+  /**
+   * Constructor of NioGameServer, it binds the port but does not accept clients until
+   * {@link #start()} is called.
+   * @param port the port to listen on, 0 for any free port
+   * @param eventLoops the number of event-loop threads
+   * @throws IOException if the port can not be bound
+   * @throws IllegalArgumentException if the number of event loops is not positive
+   */
+  public NioGameServer(int port, int eventLoops) throws IOException, IllegalArgumentException {
+    if (eventLoops < 1) throw new IllegalArgumentException("There must be at least one event loop");
+
+    this.server = ServerSocketChannel.open();
+    this.server.bind(new InetSocketAddress(port), 1024);
+    this.loops = new EventLoop[eventLoops];
+    for (int i = 0; i < eventLoops; i++) this.loops[i] = new EventLoop(i);
+    this.acceptor = new Thread(this::acceptClients, "tictactoe-nio-acceptor");
+    this.acceptor.setDaemon(true);
+    this.openSessions = new AtomicInteger();
+    this.acceptFailures = new AtomicLong();
+  }
+
+  /**
+   * Start accepting clients and the event loops on background threads.
+   */
+  public void start() {
+    for (EventLoop loop : this.loops) loop.thread.start();
+    this.acceptor.start();
+  }
+
+  /**
+   * Wait until the server is closed.
+   * @throws InterruptedException if the waiting thread is interrupted
+   */
+  public void join() throws InterruptedException {
+    this.acceptor.join();
+  }
+
+  /**
+   * Return the port the server listens on.
+   * @return the local port
+   */
+  public int getPort() {
+    return this.server.socket().getLocalPort();
+  }
+
+  /**
+   * Return the number of connections with a game in progress.
+   * @return the open sessions
+   */
+  public int getOpenSessions() {
+    return this.openSessions.get();
+  }
+
+  /**
+   * Return the number of times accepting a connection failed while the server was open, for
+   * example because the process ran out of file descriptors.
+   * @return the accept failures
+   */
+  public long getAcceptFailures() {
+    return this.acceptFailures.get();
+  }
+
+  /**
+   * Stop accepting clients and drop the games in progress.
+   * @throws IOException if the server channel fails to close
+   */
+  @Override
+  public void close() throws IOException {
+    this.closed = true;
+    this.server.close();
+    //Each loop wakes up, closes its sessions and its selector
+    for (EventLoop loop : this.loops) loop.selector.wakeup();
+  }
+
+  /**
+   * Accept loop, deals connections to the event loops in turn. It ends when the server is
+   * closed; other accept failures, such as running out of file descriptors, are counted and
+   * retried after a pause that doubles up to a second, so a lasting failure does not spin.
+   */
+  private void acceptClients() {
+    int next = 0;
+    long backoff = 0;
+    while (this.server.isOpen()) {
+      SocketChannel channel;
+      try {
+        channel = this.server.accept();
+      } catch (IOException e) {
+        //The server was closed
+        if (!this.server.isOpen()) return;
+        this.acceptFailures.incrementAndGet();
+        backoff = Math.min(Math.max(1, 2 * backoff), 1000);
+        try {
+          Thread.sleep(backoff);
+        } catch (InterruptedException i) {
+          return;
+        }
+        continue;
+      }
+      backoff = 0;
+
+      try {
+        channel.configureBlocking(false);
+        this.loops[next].add(channel);
+        next = (next + 1) % this.loops.length;
+      } catch (IOException e) {
+        //The client left before it was set up
+        try {
+          channel.close();
+        } catch (IOException c) {
+          //Nothing else to do
+        }
+      }
+    }
+  }
+
+  /**
+   * One thread that serves its sessions as their sockets become ready.
+   */
+  private final class EventLoop implements Runnable {
+    private final Selector selector;
+    private final Queue<SocketChannel> pending;
+    private final Thread thread;
+
+    private EventLoop(int index) throws IOException {
+      this.selector = Selector.open();
+      this.pending = new ConcurrentLinkedQueue<>();
+      this.thread = new Thread(this, "tictactoe-nio-" + index);
+      this.thread.setDaemon(true);
+    }
+
+    private void add(SocketChannel channel) {
+      this.pending.add(channel);
+      this.selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+      try {
+        while (!closed) {
+          this.selector.select();
+          this.register();
+
+          Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+          while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+            NioGameSession session = (NioGameSession) key.attachment();
+            if (!key.isValid()) continue;
+            if (key.isWritable()) {
+              session.onWritable();
+            } else if (key.isReadable()) {
+              session.onReadable();
+            }
+          }
+        }
+      } catch (IOException e) {
+        //The selector failed, the sessions of this loop are dropped
+      } finally {
+        this.closeAll();
+      }
+    }
+
+    /**
+     * Register the connections handed over by the acceptor and greet them.
+     */
+    private void register() {
+      SocketChannel channel;
+      while ((channel = this.pending.poll()) != null) {
+        try {
+          SelectionKey key = channel.register(this.selector, SelectionKey.OP_READ);
+          NioGameSession session = new NioGameSession(channel, key, openSessions::decrementAndGet);
+          key.attach(session);
+          openSessions.incrementAndGet();
+          session.start();
+        } catch (IOException e) {
+          try {
+            channel.close();
+          } catch (IOException suppressed) {
+            //Nothing else to do
+          }
+        }
+      }
+    }
+
+    private void closeAll() {
+      SocketChannel channel;
+      while ((channel = this.pending.poll()) != null) {
+        try {
+          channel.close();
+        } catch (IOException e) {
+          //Nothing else to do
+        }
+      }
+      for (SelectionKey key : this.selector.keys()) ((NioGameSession) key.attachment()).close();
+      try {
+        this.selector.close();
+      } catch (IOException e) {
+        //Nothing else to do
+      }
+    }
+  }
+}
@@ -0,0 +1,309 @@
+package tictactoe;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One game played over a non-blocking connection, driven by {@link NioGameServer}. It speaks the
+ * same line protocol as {@link TicTacToeConsoleController} (board, prompt, error messages, quit
+ * and game over lines) in ASCII. Input bytes are tokenized and parsed straight from the read
+ * buffer with the rules of {@link InputTokenizer}, and output is written straight into a direct
+ * buffer, so no intermediate strings are built. A token longer than {@link #MAX_TOKEN} bytes is
+ * never a number: it is echoed in a "Not a valid number" line as it arrives, up to the next
+ * whitespace. When the peer does not read its output the session stops reading input until the
+ * output buffer drains.
+ */
+final class NioGameSession {
+
+  //Longest token parsed, a longer one is not a valid number.
+  static final int MAX_TOKEN = 256;
+  //Room kept in the output buffer before a token is handled: two boards, prompts and a token.
+  private static final int MAX_REPLY = 512;
+
+  private static final byte[] PROMPT = ascii("Enter a move for ");
+  private static final byte[] INVALID_NUMBER = ascii("Not a valid number: ");
+  private static final byte[] INVALID_MOVE = ascii("Not a valid move: ");
+  private static final byte[] QUIT = ascii("Game quit! Ending game state:\n");
+  private static final byte[] GAME_OVER = ascii("Game is over! ");
+
+  private final SocketChannel channel;
+  private final SelectionKey key;
+  private final Runnable onClose;
+  private final ByteBuffer in;
+  private final ByteBuffer out;
+  private final byte[] token;
+  private final byte[] digits;
+  private final CharSequence tokenText;
+  private final char groupSeparator;
+  private TicTacToe model;
+  private int tokenLength;
+  //Whether the token is too long and the rest of it is being echoed.
+  private boolean echoing;
+  private int row;
+  private int column;
+  private boolean hasRow;
+  private boolean endOfInput;
+  private boolean finished;
+  private boolean closed;
+
+  /**
+   * Constructor of NioGameSession.
+   * @param channel the connection, already in non-blocking mode
+   * @param key the registration of the connection with the event loop selector
+   * @param onClose called once when the session is closed
+   */
+  NioGameSession(SocketChannel channel, SelectionKey key, Runnable onClose) {
+    this.channel = channel;
+    this.key = key;
+    this.onClose = onClose;
+    this.in = ByteBuffer.allocateDirect(1024);
+    this.out = ByteBuffer.allocateDirect(4096);
+    this.token = new byte[MAX_TOKEN];
+    this.digits = new byte[11];
+    this.tokenText = new AsciiToken();
+    this.groupSeparator = InputTokenizer.groupSeparator();
+    this.model = new TicTacToeModel();
+  }
+
+  /**
+   * Send the first board and prompt.
+   */
+  void start() {
+    this.putBoard();
+    this.putPrompt();
+    this.flush();
+  }
+
+  /**
+   * Read what the peer sent and answer it.
+   */
+  void onReadable() {
+    try {
+      if (this.channel.read(this.in) < 0) this.endOfInput = true;
+    } catch (IOException e) {
+      this.close();
+      return;
+    }
+    this.process();
+    this.flush();
+  }
+
+  /**
+   * Continue writing output the socket could not take before, then resume reading.
+   */
+  void onWritable() {
+    this.flush();
+    if (this.closed) return;
+    this.process();
+    this.flush();
+  }
+
+  /**
+   * Close the connection.
+   */
+  void close() {
+    if (this.closed) return;
+    this.closed = true;
+    this.key.cancel();
+    try {
+      this.channel.close();
+    } catch (IOException e) {
+      //Nothing else to do
+    }
+    this.onClose.run();
+  }
+
+  /**
+   * Tokenize the pending input, stopping when the game ends or the output buffer is full.
+   */
+  private void process() {
+    this.in.flip();
+    while (this.in.hasRemaining() && !this.finished && this.out.remaining() >= MAX_REPLY) {
+      byte b = this.in.get();
+      if (isWhitespace(b)) {
+        if (this.echoing) {
+          this.endEcho();
+        } else if (this.tokenLength > 0) {
+          this.handleToken();
+        }
+      } else if (this.echoing) {
+        this.out.put(b);
+      } else if (this.tokenLength == MAX_TOKEN) {
+        this.out.put(INVALID_NUMBER).put(this.token, 0, MAX_TOKEN).put(b);
+        this.echoing = true;
+      } else {
+        this.token[this.tokenLength++] = b;
+      }
+    }
+    if (this.endOfInput && !this.in.hasRemaining() && !this.finished && this.out.remaining() >= MAX_REPLY) {
+      //A last token without a delimiter still counts
+      if (this.echoing) {
+        this.endEcho();
+      } else if (this.tokenLength > 0) {
+        this.handleToken();
+      }
+      this.finished = true;
+    }
+    this.in.compact();
+  }
+
+  /**
+   * End the line of a token that was too long to parse, and forget it.
+   */
+  private void endEcho() {
+    this.out.put((byte) '\n');
+    this.echoing = false;
+    this.tokenLength = 0;
+  }
+
+  /**
+   * Handle a complete token the way {@link TicTacToeConsoleController} does.
+   */
+  private void handleToken() {
+    int length = this.tokenLength;
+    boolean quit = InputTokenizer.isQuit(this.tokenText);
+    long value = quit ? 0 : InputTokenizer.parseInt(this.tokenText, this.groupSeparator);
+    this.tokenLength = 0;
+
+    if (quit) {
+      this.out.put(QUIT);
+      this.putBoard();
+      this.finished = true;
+      return;
+    }
+
+    if (value == Long.MIN_VALUE) {
+      this.out.put(INVALID_NUMBER).put(this.token, 0, length).put((byte) '\n');
+      return;
+    }
+    if (!this.hasRow) {
+      this.row = (int) value;
+      this.hasRow = true;
+      return;
+    }
+    this.column = (int) value;
+    this.hasRow = false;
+
+    try {
+      this.model.move(this.row - 1, this.column - 1);
+    } catch (IllegalArgumentException e) {
+      this.out.put(INVALID_MOVE);
+      this.putInt(this.row);
+      this.out.put((byte) ',').put((byte) ' ');
+      this.putInt(this.column);
+      this.out.put((byte) '\n');
+      return;
+    }
+
+    this.putBoard();
+    if (this.model.isGameOver()) {
+      this.out.put(GAME_OVER);
+      Player winner = this.model.getWinner();
+      if (winner == null) {
+        this.putAscii("Tie game.\n");
+      } else {
+        this.putAscii(winner.toString());
+        this.putAscii(" wins.\n");
+      }
+      this.finished = true;
+    } else {
+      this.putPrompt();
+    }
+  }
+
+  /**
+   * Write as much output as the socket takes, and choose what to wait for next.
+   */
+  private void flush() {
+    if (this.closed) return;
+    try {
+      this.out.flip();
+      this.channel.write(this.out);
+      this.out.compact();
+    } catch (IOException e) {
+      this.close();
+      return;
+    }
+
+    if (this.out.position() > 0) {
+      //Stop reading until the peer catches up
+      this.key.interestOps(SelectionKey.OP_WRITE);
+    } else if (this.finished) {
+      this.close();
+    } else {
+      this.key.interestOps(SelectionKey.OP_READ);
+    }
+  }
+
+  private void putBoard() {
+    this.putAscii(this.model.toString());
+    this.out.put((byte) '\n');
+  }
+
+  private void putPrompt() {
+    this.out.put(PROMPT);
+    this.putAscii(this.model.getTurn().toString());
+    this.out.put((byte) ':').put((byte) '\n');
+  }
+
+  private void putAscii(String s) {
+    for (int i = 0; i < s.length(); i++) this.out.put((byte) s.charAt(i));
+  }
+
+  private void putInt(int value) {
+    long v = value;
+    if (v < 0) {
+      this.out.put((byte) '-');
+      v = -v;
+    }
+    int n = 0;
+    do {
+      this.digits[n++] = (byte) ('0' + v % 10);
+      v /= 10;
+    } while (v > 0);
+    while (n > 0) this.out.put(this.digits[--n]);
+  }
+
+  /**
+   * ASCII whitespace, as {@link Character#isWhitespace(char)} defines it.
+   * @param b the byte
+   * @return true if it separates tokens
+   */
+  static boolean isWhitespace(byte b) {
+    return b == ' ' || (b >= 0x09 && b <= 0x0D) || (b >= 0x1C && b <= 0x1F);
+  }
+
+  /**
+   * The current token as characters, one per byte, without copying it.
+   */
+  private final class AsciiToken implements CharSequence {
+    @Override
+    public int length() {
+      return NioGameSession.this.tokenLength;
+    }
+
+    @Override
+    public char charAt(int index) {
+      return (char) (NioGameSession.this.token[index] & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      return new String(NioGameSession.this.token, start, end - start, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public String toString() {
+      return this.subSequence(0, this.length()).toString();
+    }
+  }
+
+  private static byte[] ascii(String s) {
+    byte[] bytes = new byte[s.length()];
+    for (int i = 0; i < bytes.length; i++) bytes[i] = (byte) s.charAt(i);
+    return bytes;
+  }
+}
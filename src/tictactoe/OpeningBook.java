@@ -0,0 +1,119 @@
+package tictactoe;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class answers perfect moves for the three-by-three game from a precomputed table, with no
+ * search at all. The table is memory-mapped, so it costs almost no heap and is ready as soon as
+ * the file is opened.
+ * The file has a 12 byte header (magic, version, entry count, big endian) followed by one byte
+ * per board, indexed by the base-3 encoding of the board ({@code sum of mark * 3^cell}, with
+ * 1 for X and 2 for O). Only the smallest encoding among the 8 symmetric images of a position
+ * is filled in. A zero byte means the board is not in the book, otherwise bits 0-3 are the best
+ * cell of that image, bits 4-5 the value for the player to move plus one, and bit 7 is set.
+ * The file is written by {@link OpeningBookGenerator}.
+ */
+public class OpeningBook {
+
+  static final int MAGIC = 0x54545442; //"TTTB"
+  static final int VERSION = 1;
+  static final int ENTRIES = BoardSymmetry.ENCODINGS;
+  static final int HEADER = 12;
+
+  private final ByteBuffer table;
+
+  /**
+   * Constructor of OpeningBook, it wraps an already validated table.
+   * @param table the book file, header included
+   */
+  private OpeningBook(ByteBuffer table) {
+    this.table = table;
+  }
+
+  /**
+   * Memory-map a book file.
+   * @param file the file written by {@link OpeningBookGenerator}
+   * @return the opening book
+   * @throws IOException if the file can not be read
+   * @throws IllegalArgumentException if the file is not a valid book
+   */
+  public static OpeningBook load(Path file) throws IOException, IllegalArgumentException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() != HEADER + ENTRIES) throw new IllegalArgumentException("Not an opening book");
+
+      //The mapping stays valid after the channel is closed.
+      MappedByteBuffer table = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      table.order(ByteOrder.BIG_ENDIAN);
+      if (table.getInt(0) != MAGIC || table.getInt(4) != VERSION || table.getInt(8) != ENTRIES) {
+        throw new IllegalArgumentException("Not an opening book");
+      }
+      return new OpeningBook(table);
+    }
+  }
+
+  /**
+   * Return the best move for the player to move.
+   * @param m a three-by-three game that is not over
+   * @return the best move
+   * @throws IllegalArgumentException if the game is not played on a 3x3 board
+   * @throws IllegalStateException if the game is over
+   */
+  public Move bestMove(TicTacToe m) throws IllegalArgumentException, IllegalStateException {
+    int x = TicTacToeSolver.maskOf(this.check(m), Player.X);
+    int o = TicTacToeSolver.maskOf(m, Player.O);
+    int sym = BoardCanonicalizer.canonicalSymmetry(x, o, BoardCanonicalizer.BY_BASE3);
+    int entry = this.entry(x, o, sym);
+    int cell = BoardSymmetry.INVERSE[sym][entry & 0xF];
+    return new Move(cell / 3, cell % 3);
+  }
+
+  /**
+   * Return the game-theoretic value of a position for the player to move.
+   * @param m a three-by-three game that is not over
+   * @return {@link Solution#WIN}, {@link Solution#DRAW} or {@link Solution#LOSS}
+   * @throws IllegalArgumentException if the game is not played on a 3x3 board
+   * @throws IllegalStateException if the game is over
+   */
+  public int evaluate(TicTacToe m) throws IllegalArgumentException, IllegalStateException {
+    int x = TicTacToeSolver.maskOf(this.check(m), Player.X);
+    int o = TicTacToeSolver.maskOf(m, Player.O);
+    int sym = BoardCanonicalizer.canonicalSymmetry(x, o, BoardCanonicalizer.BY_BASE3);
+    int entry = this.entry(x, o, sym);
+    return ((entry >>> 4) & 0x3) - 1;
+  }
+
+  /**
+   * Read the entry of a position.
+   * @param x the mask of X
+   * @param o the mask of O
+   * @param sym the symmetry that gives the smallest encoding
+   * @return the entry byte
+   * @throws IllegalArgumentException if the position is not in the book
+   */
+  private int entry(int x, int o, int sym) throws IllegalArgumentException {
+    int index = BoardCanonicalizer.image(x, o, sym, BoardCanonicalizer.BY_BASE3);
+    int entry = this.table.get(HEADER + index) & 0xFF;
+    if (entry == 0) throw new IllegalArgumentException("Position is not reachable");
+    return entry;
+  }
+
+  /**
+   * Check the game can be looked up in the book.
+   * @param m the game
+   * @return the same game
+   */
+  private TicTacToe check(TicTacToe m) throws IllegalArgumentException, IllegalStateException {
+    if (m == null) throw new IllegalArgumentException("Game can not be null");
+    if (m.getRows() != 3 || m.getColumns() != 3 || m.getWinLength() != 3) {
+      throw new IllegalArgumentException("Only the 3x3 game is in the book");
+    }
+    if (m.isGameOver()) throw new IllegalStateException("Game has been completed");
+    return m;
+  }
+}
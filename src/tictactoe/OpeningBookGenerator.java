@@ -0,0 +1,82 @@
+package tictactoe;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Build step that solves every reachable three-by-three position and writes the table read by
+ * {@link OpeningBook}. Run it once and ship the file next to the application:
+ * {@code java tictactoe.OpeningBookGenerator tictactoe.book}
+ */
+public class OpeningBookGenerator {
+
+  /**
+   * Write the opening book to the file given as the first argument, or to
+   * {@code tictactoe.book} in the working directory.
+   * @param args optional output path
+   * @throws IOException if the file can not be written
+   */
+  public static void main(String[] args) throws IOException {
+    Path file = Paths.get(args.length > 0 ? args[0] : "tictactoe.book");
+    int positions = generate(file);
+    System.out.println("Wrote " + positions + " positions to " + file);
+  }
+
+  /**
+   * Solve every reachable position that is not over and write the book.
+   * @param file the output file, replaced if it exists
+   * @return the number of distinct positions, up to symmetry, stored in the book
+   * @throws IOException if the file can not be written
+   */
+  public static int generate(Path file) throws IOException {
+    byte[] entries = new byte[OpeningBook.ENTRIES];
+    int positions = fill(entries, new TicTacToeSolver(), 0, 0);
+
+    ByteBuffer out = ByteBuffer.allocate(OpeningBook.HEADER + OpeningBook.ENTRIES);
+    out.putInt(OpeningBook.MAGIC).putInt(OpeningBook.VERSION).putInt(OpeningBook.ENTRIES).put(entries);
+    out.flip();
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      while (out.hasRemaining()) channel.write(out);
+    }
+    return positions;
+  }
+
+  /**
+   * Add a position and everything reachable from it to the table.
+   * @param entries the table being built
+   * @param solver the solver, shared so every search reuses the previous ones
+   * @param x the mask of X
+   * @param o the mask of O
+   * @return the number of new entries
+   */
+  private static int fill(byte[] entries, TicTacToeSolver solver, int x, int o) {
+    if (BitboardTicTacToeModel.wins(x) || BitboardTicTacToeModel.wins(o)
+        || (x | o) == BitboardTicTacToeModel.FULL) {
+      return 0;
+    }
+
+    int sym = BoardCanonicalizer.canonicalSymmetry(x, o, BoardCanonicalizer.BY_BASE3);
+    int index = BoardCanonicalizer.image(x, o, sym, BoardCanonicalizer.BY_BASE3);
+    if (entries[index] != 0) return 0;
+
+    //Solve the canonical image itself, so the move is already in its coordinates.
+    int cx = BoardSymmetry.transform(x, sym);
+    int co = BoardSymmetry.transform(o, sym);
+    boolean xToMove = Integer.bitCount(x) == Integer.bitCount(o);
+    Solution s = xToMove ? solver.solve(cx, co) : solver.solve(co, cx);
+    int cell = 3 * s.getMove().getRow() + s.getMove().getColumn();
+    entries[index] = (byte) (0x80 | ((s.getValue() + 1) << 4) | cell);
+
+    int count = 1;
+    for (int bit = 1; bit < 512; bit <<= 1) {
+      if (((x | o) & bit) != 0) continue;
+      count += xToMove ? fill(entries, solver, x | bit, o) : fill(entries, solver, x, o | bit);
+    }
+    return count;
+  }
+}
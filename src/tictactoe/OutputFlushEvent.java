@@ -0,0 +1,26 @@
+package tictactoe;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of a controller flushing its output before it waits for the player or
+ * ends the game. Its duration is the time the flush took.
+ */
+@Name("tictactoe.OutputFlush")
+@Label("Output Flush")
+@Category("Tic Tac Toe")
+@Description("A controller flushed its output")
+@Enabled(false)
+@StackTrace(false)
+public class OutputFlushEvent extends Event {
+
+  @Label("Output")
+  @Description("Class of the output flushed")
+  public Class<?> output;
+}
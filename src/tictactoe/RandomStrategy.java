@@ -0,0 +1,43 @@
+package tictactoe;
+
+import java.util.SplittableRandom;
+
+/**
+ * A strategy that plays a uniformly random empty position. Each instance owns its random
+ * generator, so instances used on different threads never contend.
+ */
+public class RandomStrategy implements MoveStrategy {
+
+  private final SplittableRandom random;
+
+  /**
+   * Constructor of RandomStrategy with an unpredictable seed.
+   */
+  public RandomStrategy() {
+    this.random = new SplittableRandom();
+  }
+
+  /**
+   * Constructor of RandomStrategy with a fixed seed, to replay the same games.
+   * @param seed the seed of the random generator
+   */
+  public RandomStrategy(long seed) {
+    this.random = new SplittableRandom(seed);
+  }
+
+  @Override
+  public Move chooseMove(TicTacToe m) throws IllegalStateException {
+    //Reservoir sampling over the empty positions, so no list is built.
+    int rows = m.getRows();
+    int columns = m.getColumns();
+    int seen = 0;
+    int chosen = -1;
+    for (int r = 0; r < rows; r++) {
+      for (int c = 0; c < columns; c++) {
+        if (m.getMarkAt(r, c) == null && this.random.nextInt(++seen) == 0) chosen = r * columns + c;
+      }
+    }
+    if (chosen < 0) throw new IllegalStateException("There is no empty position");
+    return new Move(chosen / columns, chosen % columns);
+  }
+}
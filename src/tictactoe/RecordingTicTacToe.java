@@ -0,0 +1,129 @@
+package tictactoe;
+
+import java.io.IOException;
+
+/**
+ * This class wraps a three-by-three game and archives it: every move that succeeds is
+ * remembered, and when the game ends the record is written to a {@link GameRecordWriter}. It
+ * can be handed to a controller or a simulator in place of the game it wraps. A game that is
+ * abandoned, for example quit from the console, is only archived when {@link #finish()} is
+ * called.
+ * This class implements the ResettableTicTacToe Interface.
+ */
+public class RecordingTicTacToe implements ResettableTicTacToe {
+
+  private final ResettableTicTacToe delegate;
+  private final GameRecordWriter writer;
+  private long moves;
+  private int count;
+  private boolean written;
+
+  /**
+   * Constructor of RecordingTicTacToe.
+   * @param delegate the game to play, normally new
+   * @param writer where the game is archived
+   * @throws IllegalArgumentException if an argument is null or the game is not 3x3
+   */
+  public RecordingTicTacToe(ResettableTicTacToe delegate, GameRecordWriter writer) throws IllegalArgumentException {
+    if (delegate == null || writer == null) throw new IllegalArgumentException("Arguments can not be null");
+    if (delegate.getRows() != 3 || delegate.getColumns() != 3) {
+      throw new IllegalArgumentException("Only the 3x3 game can be recorded");
+    }
+
+    this.delegate = delegate;
+    this.writer = writer;
+  }
+
+  /**
+   * Play a move on the wrapped game, and archive the game if the move ends it.
+   * @throws IllegalStateException also if the record can not be written
+   */
+  @Override
+  public void move(int r, int c) throws IllegalArgumentException, IllegalStateException {
+    this.delegate.move(r, c);
+    if (this.count < GameRecord.MAX_MOVES) this.moves |= (long) (3 * r + c) << (4 * this.count++);
+    if (this.delegate.isGameOver()) this.finish();
+  }
+
+  /**
+   * Archive the game as it is now, unless it was already archived. A game that is not over is
+   * recorded as {@link GameRecord#UNFINISHED}.
+   * @throws IllegalStateException if the record can not be written
+   */
+  public void finish() throws IllegalStateException {
+    if (this.written) return;
+    this.written = true;
+    try {
+      this.writer.write(new GameRecord(this.moves, this.count, GameRecord.resultOf(this.delegate)));
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @Override
+  public Player getTurn() {
+    return this.delegate.getTurn();
+  }
+
+  @Override
+  public boolean isGameOver() {
+    return this.delegate.isGameOver();
+  }
+
+  @Override
+  public Player getWinner() {
+    return this.delegate.getWinner();
+  }
+
+  @Override
+  public Player[][] getBoard() {
+    return this.delegate.getBoard();
+  }
+
+  @Override
+  public Player getMarkAt(int r, int c) throws IllegalArgumentException {
+    return this.delegate.getMarkAt(r, c);
+  }
+
+  @Override
+  public int getRows() {
+    return this.delegate.getRows();
+  }
+
+  @Override
+  public int getColumns() {
+    return this.delegate.getColumns();
+  }
+
+  @Override
+  public int getWinLength() {
+    return this.delegate.getWinLength();
+  }
+
+  @Override
+  public BoardSnapshot snapshot() {
+    return this.delegate.snapshot();
+  }
+
+  /**
+   * Start a new game on the wrapped model and a new record. A game that is not over and was not
+   * finished is not archived.
+   */
+  @Override
+  public void reset() {
+    this.delegate.reset();
+    this.moves = 0;
+    this.count = 0;
+    this.written = false;
+  }
+
+  @Override
+  public long getZobristKey() {
+    return this.delegate.getZobristKey();
+  }
+
+  @Override
+  public String toString() {
+    return this.delegate.toString();
+  }
+}
@@ -0,0 +1,145 @@
+package tictactoe;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class represents the outcome of replaying a file of archived games: how many games and
+ * moves were checked, the recorded results, and every game that was corrupt or did not replay
+ * to its recorded result, with its offset in the file. It is immutable.
+ */
+public final class ReplayReport {
+
+  private final long games;
+  private final long moves;
+  private final long[] results;
+  private final long failureCount;
+  private final List<Failure> failures;
+  private final long elapsedNanos;
+
+  /**
+   * Constructor of ReplayReport.
+   * @param games number of records read, failed ones included
+   * @param moves number of moves replayed
+   * @param results {@code results[r]} is the number of valid games recorded with result r
+   * @param failureCount number of failed records
+   * @param failures the failed records kept, sorted by offset
+   * @param elapsedNanos wall clock time of the replay
+   */
+  ReplayReport(long games, long moves, long[] results, long failureCount, List<Failure> failures,
+               long elapsedNanos) {
+    this.games = games;
+    this.moves = moves;
+    this.results = results.clone();
+    this.failureCount = failureCount;
+    this.failures = Collections.unmodifiableList(failures);
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * Return the number of records read, failed ones included.
+   * @return the number of games
+   */
+  public long getGames() {
+    return this.games;
+  }
+
+  /**
+   * Return the number of moves replayed.
+   * @return the number of moves
+   */
+  public long getMoves() {
+    return this.moves;
+  }
+
+  /**
+   * Return how many valid games were recorded with a result.
+   * @param result {@link GameRecord#TIE}, {@link GameRecord#X_WINS}, {@link GameRecord#O_WINS}
+   *     or {@link GameRecord#UNFINISHED}
+   * @return the number of games
+   */
+  public long getResultCount(int result) {
+    return result >= 0 && result < this.results.length ? this.results[result] : 0;
+  }
+
+  /**
+   * Return the number of records that were corrupt or did not replay to their result.
+   * @return the number of failures
+   */
+  public long getFailureCount() {
+    return this.failureCount;
+  }
+
+  /**
+   * Return the failed records, sorted by offset. Only the first ones are kept when there are
+   * very many, see {@link #getFailureCount()} for the total.
+   * @return the failures
+   */
+  public List<Failure> getFailures() {
+    return this.failures;
+  }
+
+  /**
+   * Return whether every record replayed to its recorded result.
+   * @return true if there are no failures
+   */
+  public boolean isValid() {
+    return this.failureCount == 0;
+  }
+
+  /**
+   * Return the wall clock time of the replay.
+   * @return the elapsed time in nanoseconds
+   */
+  public long getElapsedNanos() {
+    return this.elapsedNanos;
+  }
+
+  /**
+   * Return the throughput of the replay.
+   * @return games replayed per second
+   */
+  public double getGamesPerSecond() {
+    return this.elapsedNanos == 0 ? 0 : this.games * 1e9 / this.elapsedNanos;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d games, %d moves, %d failures (%.0f games/s)",
+        this.games, this.moves, this.failureCount, this.getGamesPerSecond());
+  }
+
+  /**
+   * A record that was corrupt or did not replay to its recorded result.
+   */
+  public static final class Failure {
+    private final long offset;
+    private final String message;
+
+    Failure(long offset, String message) {
+      this.offset = offset;
+      this.message = message;
+    }
+
+    /**
+     * Return where the record starts in the file.
+     * @return the byte offset
+     */
+    public long getOffset() {
+      return this.offset;
+    }
+
+    /**
+     * Return what is wrong with the record.
+     * @return the description
+     */
+    public String getMessage() {
+      return this.message;
+    }
+
+    @Override
+    public String toString() {
+      return this.offset + ": " + this.message;
+    }
+  }
+}
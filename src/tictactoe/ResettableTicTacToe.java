@@ -0,0 +1,14 @@
+package tictactoe;
+
+/**
+ * A game of Tic Tac Toe that can be cleared and played again, so simulators, pools and replay
+ * tools can reuse one instance, and its board, for many games.
+ */
+public interface ResettableTicTacToe extends TicTacToe {
+
+  /**
+   * Clear the board and start a new game with X to move.
+   */
+  void reset();
+
+}
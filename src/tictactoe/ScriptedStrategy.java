@@ -0,0 +1,30 @@
+package tictactoe;
+
+/**
+ * A strategy that follows a fixed list of preferred positions and plays the first one that is
+ * still empty. It is useful to pin down the exact games played in a regression test.
+ */
+public class ScriptedStrategy implements MoveStrategy {
+
+  private final Move[] script;
+
+  /**
+   * Constructor of ScriptedStrategy.
+   * @param script the positions in order of preference
+   * @throws IllegalArgumentException if the script is null or empty
+   */
+  public ScriptedStrategy(Move... script) throws IllegalArgumentException {
+    if (script == null || script.length == 0) throw new IllegalArgumentException("Script can not be empty");
+    this.script = script.clone();
+  }
+
+  @Override
+  public Move chooseMove(TicTacToe m) throws IllegalStateException {
+    for (Move move : this.script) {
+      if (move.getRow() < 0 || move.getRow() >= m.getRows()
+          || move.getColumn() < 0 || move.getColumn() >= m.getColumns()) continue;
+      if (m.getMarkAt(move.getRow(), move.getColumn()) == null) return move;
+    }
+    throw new IllegalStateException("Script has no empty position left");
+  }
+}
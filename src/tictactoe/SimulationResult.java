@@ -0,0 +1,101 @@
+package tictactoe;
+
+/**
+ * This class represents the aggregate statistics of a batch of simulated games: the outcome
+ * counts, a histogram of game lengths and the throughput. It is immutable.
+ */
+public final class SimulationResult {
+
+  private final long xWins;
+  private final long oWins;
+  private final long draws;
+  private final long[] lengths;
+  private final long elapsedNanos;
+
+  /**
+   * Constructor of SimulationResult.
+   * @param xWins number of games won by X
+   * @param oWins number of games won by O
+   * @param draws number of tie games
+   * @param lengths {@code lengths[n]} is the number of games that ended after n moves
+   * @param elapsedNanos wall clock time of the batch
+   */
+  SimulationResult(long xWins, long oWins, long draws, long[] lengths, long elapsedNanos) {
+    this.xWins = xWins;
+    this.oWins = oWins;
+    this.draws = draws;
+    this.lengths = lengths.clone();
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * Return the number of games played.
+   * @return the number of games
+   */
+  public long getGames() {
+    return this.xWins + this.oWins + this.draws;
+  }
+
+  /**
+   * Return the number of games won by X.
+   * @return X wins
+   */
+  public long getXWins() {
+    return this.xWins;
+  }
+
+  /**
+   * Return the number of games won by O.
+   * @return O wins
+   */
+  public long getOWins() {
+    return this.oWins;
+  }
+
+  /**
+   * Return the number of tie games.
+   * @return draws
+   */
+  public long getDraws() {
+    return this.draws;
+  }
+
+  /**
+   * Return how many games ended after exactly the given number of moves.
+   * @param moves the length of the game
+   * @return the number of games of that length
+   */
+  public long getGamesOfLength(int moves) {
+    return moves >= 0 && moves < this.lengths.length ? this.lengths[moves] : 0;
+  }
+
+  /**
+   * Return the histogram of game lengths.
+   * @return a copy of the histogram, index n holds the games that ended after n moves
+   */
+  public long[] getLengthHistogram() {
+    return this.lengths.clone();
+  }
+
+  /**
+   * Return the wall clock time of the batch.
+   * @return the elapsed time in nanoseconds
+   */
+  public long getElapsedNanos() {
+    return this.elapsedNanos;
+  }
+
+  /**
+   * Return the throughput of the batch.
+   * @return games played per second
+   */
+  public double getGamesPerSecond() {
+    return this.elapsedNanos == 0 ? 0 : this.getGames() * 1e9 / this.elapsedNanos;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d games: X %d, O %d, draws %d (%.0f games/s)",
+        this.getGames(), this.xWins, this.oWins, this.draws, this.getGamesPerSecond());
+  }
+}
@@ -0,0 +1,61 @@
+package tictactoe;
+
+/**
+ * This class represents the result of solving a position: the best move for the player to move,
+ * the game-theoretic value of the position for that player and how many moves ahead it was
+ * searched. It is immutable.
+ */
+public final class Solution {
+
+  /** The player to move wins with perfect play. */
+  public static final int WIN = 1;
+  /** The game ends in a tie with perfect play. */
+  public static final int DRAW = 0;
+  /** The player to move loses with perfect play. */
+  public static final int LOSS = -1;
+
+  private final Move move;
+  private final int value;
+  private final int depth;
+
+  /**
+   * Constructor of Solution.
+   * @param move the best move
+   * @param value {@link #WIN}, {@link #DRAW} or {@link #LOSS}
+   * @param depth the number of moves searched ahead
+   */
+  public Solution(Move move, int value, int depth) {
+    this.move = move;
+    this.value = value;
+    this.depth = depth;
+  }
+
+  /**
+   * Return the best move for the player to move.
+   * @return the best move
+   */
+  public Move getMove() {
+    return this.move;
+  }
+
+  /**
+   * Return the value of the position for the player to move.
+   * @return {@link #WIN}, {@link #DRAW} or {@link #LOSS}
+   */
+  public int getValue() {
+    return this.value;
+  }
+
+  /**
+   * Return how many moves ahead the position was searched.
+   * @return the depth, the number of empty cells when the position was searched to the end
+   */
+  public int getDepth() {
+    return this.depth;
+  }
+
+  @Override
+  public String toString() {
+    return this.move + " (" + (this.value == WIN ? "win" : this.value == LOSS ? "loss" : "draw") + ")";
+  }
+}
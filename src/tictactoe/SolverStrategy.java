@@ -0,0 +1,26 @@
+package tictactoe;
+
+/**
+ * A strategy that always plays a perfect move on the three-by-three board, using a
+ * {@link TicTacToeSolver}. The solver can be shared by many strategies and threads, so they all
+ * reuse the same transposition table.
+ */
+public class SolverStrategy implements SolvingStrategy {
+
+  private final TicTacToeSolver solver;
+
+  /**
+   * Constructor of SolverStrategy.
+   * @param solver the solver to ask for moves
+   * @throws IllegalArgumentException if the solver is null
+   */
+  public SolverStrategy(TicTacToeSolver solver) throws IllegalArgumentException {
+    if (solver == null) throw new IllegalArgumentException("Solver can not be null");
+    this.solver = solver;
+  }
+
+  @Override
+  public Solution solve(TicTacToe m) {
+    return this.solver.solve(m);
+  }
+}
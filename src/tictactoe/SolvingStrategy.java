@@ -0,0 +1,24 @@
+package tictactoe;
+
+/**
+ * A strategy that chooses its move by solving the position, so along with the move it knows the
+ * value of the position and how deep it searched. {@link CachingMoveStrategy} keeps all three.
+ */
+public interface SolvingStrategy extends MoveStrategy {
+
+  /**
+   * Solve the position of a game for the player whose turn it is.
+   *
+   * @param m a game that is not over
+   * @return the best move for {@code m.getTurn()}, its value and the depth searched, or null if
+   *     the player quits the game
+   * @throws IllegalStateException if the strategy can not find a move
+   */
+  Solution solve(TicTacToe m);
+
+  @Override
+  default Move chooseMove(TicTacToe m) {
+    Solution s = this.solve(m);
+    return s == null ? null : s.getMove();
+  }
+}
@@ -0,0 +1,145 @@
+package tictactoe;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * This class plays a game between two {@link MoveStrategy move strategies}, such as two
+ * programs, or a person through a {@link HumanStrategy} against a program. It writes the same
+ * boards, prompts and final messages as {@link TicTacToeConsoleController}, and it times every
+ * move. Each strategy is given the end of the per-move budget as a deadline through
+ * {@link MoveStrategy#chooseMove(TicTacToe, long)}, which strategies that can stop on time, like
+ * {@link MctsStrategy}, honour. A move that still takes longer than the budget is played, but it
+ * is counted as an overrun. The timings of the last game can be read after
+ * {@link #playGame(TicTacToe)} returns.
+ */
+public class StrategyGameController implements TicTacToeController {
+
+  private final MoveStrategy x;
+  private final MoveStrategy o;
+  private final Appendable out;
+  private final long budgetNanos;
+  //Time of each move of the last game, in the order they were played.
+  private long[] moveNanos;
+  private int moves;
+  private int overruns;
+  private Player first;
+
+  /**
+   * Constructor of StrategyGameController.
+   * @param x the strategy of X
+   * @param o the strategy of O
+   * @param out where the game is written
+   * @param budgetMillis the time each move should take at most, in milliseconds, or 0 for no
+   *     budget
+   * @throws IllegalArgumentException if any argument is null or the budget is negative
+   */
+  public StrategyGameController(MoveStrategy x, MoveStrategy o, Appendable out, long budgetMillis)
+      throws IllegalArgumentException {
+    if (x == null || o == null || out == null) throw new IllegalArgumentException("Arguments can not be null");
+    if (budgetMillis < 0) throw new IllegalArgumentException("Budget can not be negative");
+
+    this.x = x;
+    this.o = o;
+    this.out = out;
+    this.budgetNanos = budgetMillis == 0 ? Long.MAX_VALUE : budgetMillis * 1_000_000;
+    this.moveNanos = new long[16];
+  }
+
+  /**
+   * Play a game until it is over or a strategy quits.
+   * @param m a non-null tic tac toe Model
+   * @throws IllegalArgumentException if the game is null
+   * @throws IllegalStateException if a strategy fails or plays an invalid move, or the output
+   *     fails
+   */
+  @Override
+  public void playGame(TicTacToe m) throws IllegalArgumentException, IllegalStateException {
+    if (m == null) throw new IllegalArgumentException("Game can not be null");
+    this.moves = 0;
+    this.overruns = 0;
+    this.first = m.getTurn();
+
+    try {
+      while (!m.isGameOver()) {
+        this.out.append(m.toString()).append('\n');
+        this.out.append("Enter a move for ").append(m.getTurn().toString()).append(":\n");
+
+        MoveStrategy strategy = m.getTurn() == Player.X ? this.x : this.o;
+        long start = System.nanoTime();
+        Move move = this.budgetNanos == Long.MAX_VALUE ? strategy.chooseMove(m)
+            : strategy.chooseMove(m, start + this.budgetNanos);
+        long elapsed = System.nanoTime() - start;
+        if (move == null) {
+          this.out.append("Game quit! Ending game state:\n").append(m.toString()).append('\n');
+          return;
+        }
+        this.record(elapsed);
+
+        try {
+          m.move(move.getRow(), move.getColumn());
+        } catch (IllegalArgumentException e) {
+          throw new IllegalStateException("Strategy of " + m.getTurn() + " played an invalid move", e);
+        }
+      }
+
+      this.out.append(m.toString()).append('\n');
+      this.out.append("Game is over! ");
+      if (m.getWinner() == null) {
+        this.out.append("Tie game.\n");
+      } else {
+        this.out.append(m.getWinner().toString()).append(" wins.\n");
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Output failed", e);
+    }
+  }
+
+  /**
+   * Return how long each move of the last game took, in the order they were played.
+   * @return the time of each move in nanoseconds, a new copy on every call
+   */
+  public long[] getMoveNanos() {
+    return Arrays.copyOf(this.moveNanos, this.moves);
+  }
+
+  /**
+   * Return the total time a player spent on its moves in the last game.
+   * @param p the player
+   * @return the time in nanoseconds
+   */
+  public long getTotalNanos(Player p) {
+    long total = 0;
+    for (int i = p == this.first ? 0 : 1; i < this.moves; i += 2) total += this.moveNanos[i];
+    return total;
+  }
+
+  /**
+   * Return the time of the slowest move of a player in the last game.
+   * @param p the player
+   * @return the time in nanoseconds, 0 if the player did not move
+   */
+  public long getMaxNanos(Player p) {
+    long max = 0;
+    for (int i = p == this.first ? 0 : 1; i < this.moves; i += 2) max = Math.max(max, this.moveNanos[i]);
+    return max;
+  }
+
+  /**
+   * Return the number of moves of the last game that took longer than the budget.
+   * @return the overruns
+   */
+  public int getOverruns() {
+    return this.overruns;
+  }
+
+  /**
+   * Record the time of a move.
+   * @param nanos the time the strategy took
+   */
+  private void record(long nanos) {
+    if (this.moves == this.moveNanos.length) this.moveNanos = Arrays.copyOf(this.moveNanos, 2 * this.moves);
+    this.moveNanos[this.moves++] = nanos;
+    if (nanos > this.budgetNanos) this.overruns++;
+  }
+}
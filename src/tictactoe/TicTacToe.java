@@ -4,6 +4,9 @@ package tictactoe;
  * A single game of Tic Tac Toe, played on a three-by-three grid with two players,
  * with the object of the game to achieve three markers in a row either vertically,
  * horizontally, or diagonally. {@link Player} X goes first.
+ * Implementations may use a larger m-by-n grid with a different number of markers in a
+ * row, which is reported by {@link #getRows()}, {@link #getColumns()} and
+ * {@link #getWinLength()}.
  */
 public interface TicTacToe {
 
@@ -42,7 +45,8 @@ public interface TicTacToe {
 
   /**
    * Return the current game state, as a 2D array of Player. A {@code null} value in the grid
-   * indicates an empty position on the board.
+   * indicates an empty position on the board. The array is a new copy on every call; callers
+   * that only read the board should use {@link #getMarkAt(int, int)} or {@link #snapshot()}.
    *
    * @return the current game board
    */
@@ -58,4 +62,54 @@ public interface TicTacToe {
    */
   Player getMarkAt(int r, int c);
 
+  /**
+   * Return the number of rows of the board.
+   *
+   * @return the number of rows
+   */
+  default int getRows() {
+    return getBoard().length;
+  }
+
+  /**
+   * Return the number of columns of the board.
+   *
+   * @return the number of columns
+   */
+  default int getColumns() {
+    return getBoard()[0].length;
+  }
+
+  /**
+   * Return how many markers in a row are needed to win. By default it is the shorter side
+   * of the board, which is three for the classic game.
+   *
+   * @return the number of markers in a row needed to win
+   */
+  default int getWinLength() {
+    return Math.min(getRows(), getColumns());
+  }
+
+  /**
+   * Return an immutable snapshot of the board. It does not change when more moves are played,
+   * and it can be shared with other threads.
+   *
+   * @return the current board
+   */
+  default BoardSnapshot snapshot() {
+    return BoardSnapshot.of(this);
+  }
+
+  /**
+   * Return the Zobrist key of the board: the xor of a fixed 64-bit key per marked cell and
+   * player. Equal boards have equal keys in every run and in every implementation, so the key
+   * can index caches and tables without copying the board. The models keep it up to date on
+   * every move; by default it is computed from {@link #getMarkAt(int, int)}.
+   *
+   * @return the key of the current board
+   */
+  default long getZobristKey() {
+    return Zobrist.of(this);
+  }
+
 }
@@ -1,11 +1,10 @@
 package tictactoe;
 
 
+import java.io.Flushable;
 import java.io.IOException;
-import java.util.Arrays;
 import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.Scanner;
 
 
 /**
@@ -27,7 +26,7 @@ public class TicTacToeConsoleController implements TicTacToeController{
         testValidArgument(in,out);
 
         this.in = in;
-        this.out = out;
+        this.out = GameMetrics.ENABLED ? GameMetrics.global().count(out) : out;
     }
 
     @Override
@@ -38,14 +37,20 @@ public class TicTacToeConsoleController implements TicTacToeController{
 
         //Use this array to control the row and column inputs
         int[] data = new int[2];
-        Scanner scan = new Scanner(this.in);
+        InputTokenizer tokens = new InputTokenizer(this.in);
+        if (GameMetrics.ENABLED) GameMetrics.global().gameStarted();
+        this.startGame(m);
+        GameEndEvent end = new GameEndEvent();
+        end.begin();
+        int moves = 0;
 
         try {
             //We need a loop to control the rounds
             while (!m.isGameOver()) {
                 resetData(data);
                 this.printLine(m.toString());
-                this.printLine("Enter a move for " + m.getTurn().toString() + ":");
+                this.out.append("Enter a move for ").append(m.getTurn().toString()).append(":\n");
+                this.flush();
 
                 //Another loop to control the users input, q|Q or integers
                 while (true) {
@@ -54,25 +59,35 @@ public class TicTacToeConsoleController implements TicTacToeController{
                     for (int i = 0; i < data.length; i++) {
                         if (data[i] != placeholder) continue;
 
-                        if (scan.hasNextInt()) {
-                            data[i] = scan.nextInt();
-                        } else if (scan.hasNext("(?i)q")) {
+                        int token = tokens.next();
+                        if (token == InputTokenizer.INT) {
+                            data[i] = tokens.intValue();
+                        } else if (token == InputTokenizer.QUIT) {
                             this.quitGame(m);
+                            if (GameMetrics.ENABLED) GameMetrics.global().gameQuit();
+                            this.endGame(end, null, moves, true);
                             return;
                         } else {
-                            this.printLine("Not a valid number: " + scan.next());
+                            if (GameMetrics.ENABLED) GameMetrics.global().invalidNumber();
+                            this.out.append("Not a valid number: ");
+                            this.printLine(tokens.text());
+                            this.invalidNumber(tokens.text());
                             //Reset Loop to verify both Row - column
                             i = -1;
                         }
                     }
 
                     //Verify we have a valid input
-                    if(Arrays.stream(data).noneMatch(x -> x == placeholder)) {
+                    if(data[0] != placeholder && data[1] != placeholder) {
                         try{
                             m.move(data[0] - 1 , data[1] - 1);
+                            moves++;
                             break;
                         } catch (IllegalArgumentException e) {
-                            this.printLine("Not a valid move: " + data[0] + ", " + data[1]);
+                            if (GameMetrics.ENABLED) GameMetrics.global().invalidMove();
+                            this.out.append("Not a valid move: ").append(Integer.toString(data[0]))
+                                    .append(", ").append(Integer.toString(data[1])).append('\n');
+                            this.invalidMove(data[0], data[1]);
                             resetData(data);
                         }catch (IllegalStateException e) {
                             break;
@@ -81,7 +96,14 @@ public class TicTacToeConsoleController implements TicTacToeController{
                 }
             }
             this.printLine(m.toString());
-            this.printLine("Game is over! " + (m.getWinner() == null ? "Tie game." :  m.getWinner() + " wins."));
+            this.out.append("Game is over! ");
+            if (m.getWinner() == null) {
+                this.printLine("Tie game.");
+            } else {
+                this.out.append(m.getWinner().toString()).append(" wins.\n");
+            }
+            if (GameMetrics.ENABLED) GameMetrics.global().gameFinished();
+            this.endGame(end, m.getWinner(), moves, false);
 
         } catch (IOException | NoSuchElementException n) {
             throw new IllegalStateException();
@@ -89,12 +111,13 @@ public class TicTacToeConsoleController implements TicTacToeController{
     }
 
     /**
-     * Helper function to append information to the appendable with new lines
+     * Helper function to append information to the appendable with new lines. The parts of a
+     * line are appended one by one instead of being concatenated first.
      * @param line Information to append
      * @throws IOException If invalid value is passed
      */
-    private void printLine (String line) throws IOException {
-        this.out.append(line).append("\n");
+    private void printLine (CharSequence line) throws IOException {
+        this.out.append(line).append('\n');
     }
 
     /**
@@ -116,6 +139,89 @@ public class TicTacToeConsoleController implements TicTacToeController{
         this.printLine(m.toString());
     }
 
+    /**
+     * Record the start of a game when a recording enables it.
+     * @param m Tic Tac Toe Model
+     */
+    private void startGame (TicTacToe m) {
+        GameStartEvent event = new GameStartEvent();
+        if (event.shouldCommit()) {
+            event.rows = m.getRows();
+            event.columns = m.getColumns();
+            event.winLength = m.getWinLength();
+            event.commit();
+        }
+    }
+
+    /**
+     * Flush the output, so the player sees it, and record the end of the game when a recording
+     * enables it.
+     * @param event the event begun when the game started
+     * @param winner the winner, null for a tie or a game that was quit
+     * @param moves the number of moves played
+     * @param quit whether the player quit
+     * @throws IOException If the output can not be flushed
+     */
+    private void endGame (GameEndEvent event, Player winner, int moves, boolean quit)
+            throws IOException {
+        this.flush();
+        if (event.shouldCommit()) {
+            event.winner = winner == null ? null : winner.toString();
+            event.moves = moves;
+            event.quit = quit;
+            event.commit();
+        }
+    }
+
+    /**
+     * Flush the error message, so the player sees it, and record the token when a recording
+     * enables it.
+     * @param token the token that is not a number
+     * @throws IOException If the output can not be flushed
+     */
+    private void invalidNumber (CharSequence token) throws IOException {
+        this.flush();
+        InvalidInputEvent event = new InvalidInputEvent();
+        if (event.shouldCommit()) {
+            event.input = token.toString();
+            event.move = false;
+            event.commit();
+        }
+    }
+
+    /**
+     * Flush the error message, so the player sees it, and record the move when a recording
+     * enables it.
+     * @param row the row as entered, from 1
+     * @param column the column as entered, from 1
+     * @throws IOException If the output can not be flushed
+     */
+    private void invalidMove (int row, int column) throws IOException {
+        this.flush();
+        InvalidInputEvent event = new InvalidInputEvent();
+        if (event.shouldCommit()) {
+            event.input = row + " " + column;
+            event.move = true;
+            event.commit();
+        }
+    }
+
+    /**
+     * Flush the output before waiting for the player, if it can be flushed, and record the time
+     * it took when a recording enables it.
+     * @throws IOException If the output can not be flushed
+     */
+    private void flush () throws IOException {
+        if (!(this.out instanceof Flushable)) return;
+        OutputFlushEvent event = new OutputFlushEvent();
+        event.begin();
+        ((Flushable) this.out).flush();
+        if (event.shouldCommit()) {
+            event.output = this.out.getClass();
+            event.commit();
+        }
+    }
+
     /**
      * Test if Model is valid otherwise throws an error
      * @param o Verify the object is not null
@@ -0,0 +1,162 @@
+package tictactoe;
+
+/**
+ * This class represents a Tic Tac Toe controller driven by input events instead of a
+ * {@link Readable}: the caller pushes whatever input arrived with {@link #onInput(CharSequence)}
+ * and gets back the output to send, so one thread can drive many games without blocking. It
+ * validates input, handles quitting and prints exactly what {@link TicTacToeConsoleController}
+ * prints for the same input, however the input is split into events. The returned output is a
+ * view of an internal buffer that is only valid until the next call.
+ */
+public class TicTacToeEventController {
+
+  private final TicTacToe m;
+  private final StringBuilder out;
+  private final StringBuilder token;
+  private final char groupSeparator;
+  private int row;
+  private boolean hasRow;
+  private boolean started;
+  private boolean finished;
+
+  /**
+   * Constructor of TicTacToeEventController.
+   * @param m the game to control
+   * @throws IllegalArgumentException if the game is null
+   */
+  public TicTacToeEventController(TicTacToe m) throws IllegalArgumentException {
+    if (m == null) throw new IllegalArgumentException("The game can not be null");
+
+    this.m = m;
+    this.out = new StringBuilder(256);
+    this.token = new StringBuilder(16);
+    this.groupSeparator = InputTokenizer.groupSeparator();
+  }
+
+  /**
+   * Start the game.
+   * @return the first board and prompt, or the final board if the game is already over
+   * @throws IllegalStateException if the game was already started
+   */
+  public CharSequence start() throws IllegalStateException {
+    if (this.started) throw new IllegalStateException("The game was already started");
+
+    this.started = true;
+    this.out.setLength(0);
+    this.printTurn();
+    return this.out;
+  }
+
+  /**
+   * Handle more input. A token is handled once the whitespace after it arrives, so a token may
+   * be split across events. Tokens that arrive in the same call after the game ends, by its last
+   * move or a quit, are dropped, and any later call throws.
+   * @param input the characters that arrived
+   * @return the output for the tokens completed by this input, possibly empty
+   * @throws IllegalStateException if the game was not started or is finished
+   */
+  public CharSequence onInput(CharSequence input) throws IllegalStateException {
+    this.checkRunning();
+
+    this.out.setLength(0);
+    for (int i = 0; i < input.length() && !this.finished; i++) {
+      char ch = input.charAt(i);
+      if (!Character.isWhitespace(ch)) {
+        this.token.append(ch);
+      } else if (this.token.length() > 0) {
+        this.handleToken();
+      }
+    }
+    return this.out;
+  }
+
+  /**
+   * Handle the end of the input: a last token without whitespace after it is handled now.
+   * @return the output for that token, possibly empty
+   * @throws IllegalStateException if the game was not started or is finished, or if the input
+   *     ended before the game did, like {@link TicTacToeConsoleController} does
+   */
+  public CharSequence onEndOfInput() throws IllegalStateException {
+    this.checkRunning();
+
+    this.out.setLength(0);
+    if (this.token.length() > 0) this.handleToken();
+    if (!this.finished) throw new IllegalStateException("The input ended before the game");
+    return this.out;
+  }
+
+  /**
+   * Return whether the game ended, either over or quit. No more input is accepted then.
+   * @return true if the game ended
+   */
+  public boolean isFinished() {
+    return this.finished;
+  }
+
+  /**
+   * Handle a complete token: quit, read a row or a column, or report an invalid number.
+   */
+  private void handleToken() {
+    if (InputTokenizer.isQuit(this.token)) {
+      this.out.append("Game quit! Ending game state:\n").append(this.m.toString()).append('\n');
+      this.token.setLength(0);
+      this.finished = true;
+      return;
+    }
+
+    long value = InputTokenizer.parseInt(this.token, this.groupSeparator);
+    if (value == Long.MIN_VALUE) {
+      //The row already read is kept
+      this.out.append("Not a valid number: ").append(this.token).append('\n');
+    } else if (!this.hasRow) {
+      this.row = (int) value;
+      this.hasRow = true;
+    } else {
+      this.hasRow = false;
+      this.move(this.row, (int) value);
+    }
+    this.token.setLength(0);
+  }
+
+  /**
+   * Play a move given in the 1-based coordinates typed by the player.
+   * @param row the row
+   * @param column the column
+   */
+  private void move(int row, int column) {
+    try {
+      this.m.move(row - 1, column - 1);
+    } catch (IllegalArgumentException e) {
+      this.out.append("Not a valid move: ").append(row).append(", ").append(column).append('\n');
+      return;
+    } catch (IllegalStateException e) {
+      //The game is over, it is reported below
+    }
+    this.printTurn();
+  }
+
+  /**
+   * Print the board followed by the next prompt, or by the result if the game is over.
+   */
+  private void printTurn() {
+    this.out.append(this.m.toString()).append('\n');
+    if (!this.m.isGameOver()) {
+      this.out.append("Enter a move for ").append(this.m.getTurn()).append(":\n");
+      return;
+    }
+
+    this.out.append("Game is over! ");
+    Player winner = this.m.getWinner();
+    if (winner == null) {
+      this.out.append("Tie game.\n");
+    } else {
+      this.out.append(winner).append(" wins.\n");
+    }
+    this.finished = true;
+  }
+
+  private void checkRunning() throws IllegalStateException {
+    if (!this.started) throw new IllegalStateException("The game was not started");
+    if (this.finished) throw new IllegalStateException("The game is finished");
+  }
+}
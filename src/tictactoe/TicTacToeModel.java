@@ -1,19 +1,23 @@
 package tictactoe;
 
 import java.util.Arrays;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * This class represent the Inner functionalities of the TicTacToe game. It represents
  * the model in the General MVC design pattern. It has an Associative array (2D array) that represents
  * the board and a counter.
+ * Every move updates a counter per row, column and diagonal (+1 for X, -1 for O), so the
+ * winner is known as soon as a line reaches three and never has to be searched for.
  * This class implements the TicTacToe Interface.
  */
-public class TicTacToeModel implements TicTacToe {
+public class TicTacToeModel implements ResettableTicTacToe {
 
   private final Player[][] board;
   private int round;
+  //rows 0-2, columns 3-5, diagonal 6 and anti diagonal 7
+  private final int[] lines;
+  private Player winner;
+  private long key;
 
   /**
    * Constructor of TicTacToe, it initializes the game round to zero and
@@ -22,10 +26,17 @@ public class TicTacToeModel implements TicTacToe {
   public TicTacToeModel() {
     this.board = new Player[3][3];
     this.round = 0;
+    this.lines = new int[8];
+    this.winner = null;
   }
 
   @Override
   public void move(int r, int c) throws IllegalArgumentException, IllegalStateException {
+    //Folded away by the JIT unless metrics are enabled
+    long start = GameMetrics.ENABLED ? System.nanoTime() : 0;
+    //Only timed and written while a recording enables it
+    MoveEvent event = new MoveEvent();
+    event.begin();
 
     //Conditions
 
@@ -37,9 +48,24 @@ public class TicTacToeModel implements TicTacToe {
     if(this.getMarkAt(r,c) != null) throw new IllegalArgumentException("Position is taken");
 
     //Add Player to this position.
-    this.board[r][c] =  this.getTurn();
+    Player player = this.getTurn();
+    this.board[r][c] = player;
     this.round++;
-
+    this.key ^= Zobrist.of(3 * r + c, player);
+
+    //Only the lines crossing this position can change
+    int delta = player == Player.X ? 1 : -1;
+    this.updateLine(r, delta, player);
+    this.updateLine(3 + c, delta, player);
+    if (r == c) this.updateLine(6, delta, player);
+    if (r + c == 2) this.updateLine(7, delta, player);
+
+    if (GameMetrics.ENABLED) GameMetrics.global().recordMove(System.nanoTime() - start);
+    if (event.shouldCommit()) {
+      event.cell = 3 * r + c;
+      event.player = player.toString();
+      event.commit();
+    }
   }
 
   @Override
@@ -56,34 +82,7 @@ public class TicTacToeModel implements TicTacToe {
 
   @Override
   public Player getWinner() {
-
-    //There can not be a winner with less than 5 movements
-    if (this.round < 5) return null;
-
-    //check horizontally
-    for (Player[] row: this.board) {
-      Set<Player> unique = Arrays.stream(row).collect(Collectors.toSet());
-      if (unique.size() == 1) return unique.iterator().next();
-    }
-
-    //check Vertically
-    for (int col = 0; col <= 2 ; col++) {
-      Player[] vertical = new Player[]{this.board[0][col], this.board[1][col], this.board[2][col]};
-      Set<Player> unique = Arrays.stream(vertical).collect(Collectors.toSet());
-      if (unique.size() == 1) return unique.iterator().next();
-
-    }
-
-    //check Diagonally
-    Player[] diagonal = new Player[]{this.board[0][0], this.board[1][1], this.board[2][2]};
-    Player[] antiDiagonal = new Player[]{this.board[0][2], this.board[1][1], this.board[2][0]};
-    Set<Player> uniqueDiagonal = Arrays.stream(diagonal).collect(Collectors.toSet());
-    Set<Player> uniqueAntiDiagonal = Arrays.stream(antiDiagonal).collect(Collectors.toSet());
-
-    if (uniqueDiagonal.size() == 1) return uniqueDiagonal.iterator().next();
-    if (uniqueAntiDiagonal.size() == 1) return uniqueAntiDiagonal.iterator().next();
-
-    return null;
+    return this.winner;
   }
 
   @Override
@@ -100,13 +99,62 @@ public class TicTacToeModel implements TicTacToe {
     return this.board[r][c];
   }
 
+  @Override
+  public int getRows() {
+    return 3;
+  }
+
+  @Override
+  public int getColumns() {
+    return 3;
+  }
+
+  @Override
+  public int getWinLength() {
+    return 3;
+  }
+
+  @Override
+  public BoardSnapshot snapshot() {
+    long x = 0;
+    long o = 0;
+    for (int cell = 0; cell < 9; cell++) {
+      Player p = this.board[cell / 3][cell % 3];
+      if (p == Player.X) x |= 1L << cell;
+      if (p == Player.O) o |= 1L << cell;
+    }
+    return new BoardSnapshot(3, 3, new long[] {x}, new long[] {o});
+  }
+
+  @Override
+  public void reset() {
+    for (Player[] row : this.board) Arrays.fill(row, null);
+    Arrays.fill(this.lines, 0);
+    this.round = 0;
+    this.winner = null;
+    this.key = 0;
+  }
+
+  @Override
+  public long getZobristKey() {
+    return this.key;
+  }
+
   @Override
   public String toString() {
-    // Using Java stream API to save code:
-    return Arrays.stream(getBoard()).map(
-      row -> " " + Arrays.stream(row).map(
-        p -> p == null ? " " : p.toString()).collect(Collectors.joining(" | ")))
-          .collect(Collectors.joining("\n-----------\n"));
+    //Rendered once per distinct board and cached by the renderer
+    return BoardRenderer.toString(this);
+  }
+
+  /**
+   * Add the mark of a player to a line and record the winner once the line is complete.
+   * @param line index of the line in the counters
+   * @param delta +1 for X, -1 for O
+   * @param player the player that just moved
+   */
+  private void updateLine (int line, int delta, Player player) {
+    this.lines[line] += delta;
+    if (this.lines[line] == 3 * delta) this.winner = player;
   }
 
   /**
@@ -0,0 +1,155 @@
+package tictactoe;
+
+/**
+ * This class plays perfect Tic Tac Toe on the classic three-by-three board. It solves a position
+ * with negamax and alpha-beta pruning, and remembers every position it has searched in a
+ * transposition table so later calls are answered from the table. Among winning moves it prefers
+ * the fastest win, and among losing moves the slowest loss.
+ * Positions are keyed by the two 9-bit masks of the players (18 bits, one short per entry), and
+ * every position is first reduced to its smallest image under the 8 rotations and reflections of
+ * the board, so symmetric positions share one entry.
+ * The table only ever holds true bounds, so a solver can be shared between threads.
+ */
+public class TicTacToeSolver {
+
+  //Try the center first, then the corners, then the edges.
+  private static final int[] ORDER = {4, 0, 2, 6, 8, 1, 3, 5, 7};
+
+  //Entry layout: bits 0-4 score + 10, bits 5-6 bound, bits 7-10 best cell in the canonical board.
+  private static final int EXACT = 1;
+  private static final int LOWER = 2;
+  private static final int UPPER = 3;
+
+  private final short[] table;
+
+  /**
+   * Constructor of TicTacToeSolver, it starts with an empty transposition table.
+   */
+  public TicTacToeSolver() {
+    this.table = new short[1 << 18];
+  }
+
+  /**
+   * Solve a game: find the best move for the player to move and the value of the position.
+   * @param m a three-by-three game that is not over
+   * @return the best move and the value for the player to move
+   * @throws IllegalArgumentException if the game is null or is not played on a 3x3 board
+   * @throws IllegalStateException if the game is over
+   */
+  public Solution solve(TicTacToe m) throws IllegalArgumentException, IllegalStateException {
+    if (m == null) throw new IllegalArgumentException("Game can not be null");
+    if (m.getRows() != 3 || m.getColumns() != 3 || m.getWinLength() != 3) {
+      throw new IllegalArgumentException("Only the 3x3 game can be solved");
+    }
+    if (m.isGameOver()) throw new IllegalStateException("Game has been completed");
+
+    int x = maskOf(m, Player.X);
+    int o = maskOf(m, Player.O);
+    return m.getTurn() == Player.X ? this.solve(x, o) : this.solve(o, x);
+  }
+
+  /**
+   * Solve a position given by the masks of the players.
+   * @param me the mask of the player to move
+   * @param opp the mask of the other player
+   * @return the best move and the value for the player to move
+   */
+  Solution solve(int me, int opp) {
+    //The root moves are searched here rather than read back from the table, since another
+    //thread may replace the root entry with a bound at any time.
+    int best = -11;
+    int bestCell = -1;
+    for (int cell : ORDER) {
+      int bit = 1 << cell;
+      if (((me | opp) & bit) != 0) continue;
+
+      int value = -this.negamax(opp, me | bit, -11, -best);
+      if (value > best) {
+        best = value;
+        bestCell = cell;
+      }
+    }
+    return new Solution(new Move(bestCell / 3, bestCell % 3), Integer.signum(best),
+        9 - Integer.bitCount(me | opp));
+  }
+
+  /**
+   * Return the best move for the player to move.
+   * @param m a three-by-three game that is not over
+   * @return the best move
+   */
+  public Move bestMove(TicTacToe m) {
+    return this.solve(m).getMove();
+  }
+
+  /**
+   * Return the game-theoretic value of a position for the player to move.
+   * @param m a three-by-three game that is not over
+   * @return {@link Solution#WIN}, {@link Solution#DRAW} or {@link Solution#LOSS}
+   */
+  public int evaluate(TicTacToe m) {
+    return this.solve(m).getValue();
+  }
+
+  /**
+   * Negamax search with alpha-beta pruning and a transposition table. A win scores one more than
+   * the number of empty cells left when it happens, so faster wins score higher.
+   * @param me the mask of the player to move
+   * @param opp the mask of the player that just moved
+   * @param alpha the lower bound of the window
+   * @param beta the upper bound of the window
+   * @return the score of the position for the player to move
+   */
+  private int negamax(int me, int opp, int alpha, int beta) {
+    if (BitboardTicTacToeModel.wins(opp)) return -(10 - Integer.bitCount(me | opp));
+    if ((me | opp) == BitboardTicTacToeModel.FULL) return 0;
+
+    int alphaOrig = alpha;
+    int sym = BoardCanonicalizer.canonicalSymmetry(me, opp, BoardCanonicalizer.BY_KEY);
+    int key = BoardCanonicalizer.key(me, opp, sym);
+    int entry = this.table[key];
+    if (entry != 0) {
+      int value = (entry & 0x1F) - 10;
+      int bound = (entry >>> 5) & 0x3;
+      if (bound == EXACT) return value;
+      if (bound == LOWER) alpha = Math.max(alpha, value);
+      if (bound == UPPER) beta = Math.min(beta, value);
+      if (alpha >= beta) return value;
+    }
+
+    int best = -11;
+    int bestCell = -1;
+    for (int cell : ORDER) {
+      int bit = 1 << cell;
+      if (((me | opp) & bit) != 0) continue;
+
+      int value = -this.negamax(opp, me | bit, -beta, -alpha);
+      if (value > best) {
+        best = value;
+        bestCell = cell;
+      }
+      alpha = Math.max(alpha, value);
+      if (alpha >= beta) break;
+    }
+
+    int bound = best <= alphaOrig ? UPPER : best >= beta ? LOWER : EXACT;
+    this.table[key] = (short) ((BoardSymmetry.PERMUTATIONS[sym][bestCell] << 7) | (bound << 5) | (best + 10));
+    return best;
+  }
+
+  /**
+   * Read the cells of a player from any three-by-three game.
+   * @param m the game
+   * @param p the player
+   * @return a 9-bit mask, bit {@code 3 * r + c} is set when the player owns that cell
+   */
+  static int maskOf(TicTacToe m, Player p) {
+    if (m instanceof BitboardTicTacToeModel) return ((BitboardTicTacToeModel) m).getMask(p);
+
+    int mask = 0;
+    for (int cell = 0; cell < 9; cell++) {
+      if (m.getMarkAt(cell / 3, cell % 3) == p) mask |= 1 << cell;
+    }
+    return mask;
+  }
+}
@@ -0,0 +1,38 @@
+package tictactoe;
+
+/**
+ * A game of Tic Tac Toe that can take moves back and play them again, so searches and analysis
+ * tools can explore a position without copying the board. Playing a new move after an undo
+ * discards the moves that could have been redone.
+ */
+public interface UndoableTicTacToe extends TicTacToe {
+
+  /**
+   * Take back the last move played. The game is no longer over if that move ended it.
+   *
+   * @throws IllegalStateException if no move has been played
+   */
+  void undo();
+
+  /**
+   * Play again the last move taken back.
+   *
+   * @throws IllegalStateException if there is no move to redo
+   */
+  void redo();
+
+  /**
+   * Return whether a move can be taken back.
+   *
+   * @return true if at least one move has been played
+   */
+  boolean canUndo();
+
+  /**
+   * Return whether a move that was taken back can be played again.
+   *
+   * @return true if {@link #redo()} would play a move
+   */
+  boolean canRedo();
+
+}
@@ -0,0 +1,79 @@
+package tictactoe;
+
+/**
+ * This class represents an immutable view of a {@link ConcurrentTicTacToeModel}: the board, the
+ * player to move, the winner and the version, all read from the same state of the game. A player
+ * can decide a move from it and play that move with
+ * {@link ConcurrentTicTacToeModel#tryMove(VersionedSnapshot, int, int)}, which only succeeds if
+ * the game is still exactly in the state the snapshot shows.
+ */
+public final class VersionedSnapshot {
+
+  private final BoardSnapshot board;
+  private final Player turn;
+  private final Player winner;
+  private final boolean gameOver;
+  private final long version;
+
+  /**
+   * Constructor of VersionedSnapshot.
+   * @param board the board
+   * @param turn the player to move
+   * @param winner the winner, null if there is none
+   * @param gameOver whether the game is over
+   * @param version the version of the state the view was taken from
+   */
+  VersionedSnapshot(BoardSnapshot board, Player turn, Player winner, boolean gameOver,
+                    long version) {
+    this.board = board;
+    this.turn = turn;
+    this.winner = winner;
+    this.gameOver = gameOver;
+    this.version = version;
+  }
+
+  /**
+   * Return the board.
+   * @return the board of this state
+   */
+  public BoardSnapshot getBoard() {
+    return this.board;
+  }
+
+  /**
+   * Return the player to move.
+   * @return the player whose turn it is in this state
+   */
+  public Player getTurn() {
+    return this.turn;
+  }
+
+  /**
+   * Return the winner.
+   * @return the winner of this state, null if there is none
+   */
+  public Player getWinner() {
+    return this.winner;
+  }
+
+  /**
+   * Return whether the game is over.
+   * @return true if this state has a winner or a full board
+   */
+  public boolean isGameOver() {
+    return this.gameOver;
+  }
+
+  /**
+   * Return the number of changes made to the game up to this state.
+   * @return the version
+   */
+  public long getVersion() {
+    return this.version;
+  }
+
+  @Override
+  public String toString() {
+    return "version " + this.version + "\n" + this.board;
+  }
+}
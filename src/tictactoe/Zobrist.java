@@ -0,0 +1,61 @@
+package tictactoe;
+
+/**
+ * Helper with the Zobrist keys of the cells: a fixed pseudo-random 64-bit key per cell and
+ * player, so the key of a board is the xor of the keys of its marks and a move updates it with
+ * a single xor. Cells are numbered {@code r * columns + c}. The keys are derived from the cell
+ * index alone, so they are the same in every run and for every implementation of
+ * {@link TicTacToe}; the first 256 cells are read from a table.
+ */
+final class Zobrist {
+
+  //KEYS[2 * cell] is the key of X at the cell, KEYS[2 * cell + 1] the key of O.
+  private static final long[] KEYS = new long[512];
+
+  static {
+    for (int i = 0; i < KEYS.length; i++) KEYS[i] = mix(i);
+  }
+
+  private Zobrist() {
+  }
+
+  /**
+   * Return the key of a mark.
+   * @param cell the cell, {@code r * columns + c}
+   * @param p the player
+   * @return the key to xor into the board key
+   */
+  static long of(int cell, Player p) {
+    int i = 2 * cell + (p == Player.X ? 0 : 1);
+    return i < KEYS.length ? KEYS[i] : mix(i);
+  }
+
+  /**
+   * Compute the key of any game from its marks.
+   * @param m the game
+   * @return the xor of the keys of every mark on the board
+   */
+  static long of(TicTacToe m) {
+    int columns = m.getColumns();
+    long key = 0;
+    for (int r = 0; r < m.getRows(); r++) {
+      for (int c = 0; c < columns; c++) {
+        Player p = m.getMarkAt(r, c);
+        if (p != null) key ^= of(r * columns + c, p);
+      }
+    }
+    return key;
+  }
+
+  /**
+   * The SplitMix64 finalizer, applied to a multiple of the golden ratio.
+   * @param i the index of the key
+   * @return a well mixed 64-bit value
+   */
+  private static long mix(long i) {
+    long z = (i + 1) * 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
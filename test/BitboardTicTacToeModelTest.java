@@ -0,0 +1,257 @@
+import org.junit.Test;
+
+import tictactoe.BitboardTicTacToeModel;
+import tictactoe.Player;
+import tictactoe.TicTacToe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for the bitboard tic-tac-toe model. It has to behave exactly like
+ * {@link tictactoe.TicTacToeModel}.
+ */
+public class BitboardTicTacToeModelTest {
+
+  private final TicTacToe ttt1 = new BitboardTicTacToeModel();
+
+  /**
+   * Test the game boundaries, a player can only move within 0 - 2
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testMoveIllegalInput() {
+    ttt1.move(3, 0);
+  }
+
+  /**
+   * Test there is not possible to move on a position that has already taken
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testMoveSpaceTaken() {
+    ttt1.move(1, 1);
+    ttt1.move(1, 1);
+  }
+
+  /**
+   * Test a horizontal win and the board representation
+   */
+  @Test
+  public void testHorizontalWin() {
+    ttt1.move(0, 0);
+    ttt1.move(1, 0);
+    ttt1.move(0, 1);
+    assertNull(ttt1.getWinner());
+    ttt1.move(2, 0);
+    ttt1.move(0, 2);
+    assertTrue(ttt1.isGameOver());
+    assertEquals(Player.X, ttt1.getWinner());
+    assertEquals(" X | X | X\n"
+            + "-----------\n"
+            + " O |   |  \n"
+            + "-----------\n"
+            + " O |   |  ", ttt1.toString());
+  }
+
+  /**
+   * Test O wins on the anti diagonal and no more moves are allowed
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testDiagonalWin() {
+    ttt1.move(0, 0);
+    ttt1.move(2, 0);
+    ttt1.move(1, 0);
+    ttt1.move(1, 1);
+    ttt1.move(0, 1);
+    ttt1.move(0, 2);
+    assertEquals(Player.O, ttt1.getWinner());
+    ttt1.move(2, 2);
+  }
+
+  /**
+   * Test a tie, game ends not winner
+   */
+  @Test
+  public void testCatsGame() {
+    ttt1.move(0, 0);
+    ttt1.move(1, 1);
+    ttt1.move(0, 2);
+    ttt1.move(0, 1);
+    ttt1.move(2, 1);
+    ttt1.move(1, 0);
+    ttt1.move(1, 2);
+    ttt1.move(2, 2);
+    assertFalse(ttt1.isGameOver());
+    ttt1.move(2, 0);
+    assertTrue(ttt1.isGameOver());
+    assertNull(ttt1.getWinner());
+    assertEquals(" X | O | X\n"
+            + "-----------\n"
+            + " O | O | X\n"
+            + "-----------\n"
+            + " X | X | O", ttt1.toString());
+  }
+
+  /**
+   * Test the last move can fill the board and win at the same time
+   */
+  @Test
+  public void testBoardIsFullAndWinner() {
+    ttt1.move(0, 0);
+    ttt1.move(0, 1);
+    ttt1.move(0, 2);
+    ttt1.move(1, 0);
+    ttt1.move(1, 2);
+    ttt1.move(1, 1);
+    ttt1.move(2, 1);
+    ttt1.move(2, 0);
+    ttt1.move(2, 2);
+    assertTrue(ttt1.isGameOver());
+    assertEquals(Player.X, ttt1.getWinner());
+  }
+
+  /**
+   * Test that getBoard returns a copy that can not modify this game
+   */
+  @Test
+  public void testGetBoard() {
+    ttt1.move(2, 0);
+    Player[][] bd = ttt1.getBoard();
+    assertEquals(Player.X, bd[2][0]);
+    bd[2][0] = Player.O;
+    assertEquals(Player.X, ttt1.getMarkAt(2, 0));
+    assertNull(ttt1.getMarkAt(0, 2));
+  }
+
+  /**
+   * Test a reset game forgets the moves it could undo or redo, and its key
+   */
+  @Test
+  public void testReset() {
+    BitboardTicTacToeModel m = new BitboardTicTacToeModel();
+    m.move(0, 0);
+    m.move(1, 0);
+    m.move(0, 1);
+    m.move(2, 0);
+    m.move(0, 2);
+    m.undo();
+    assertTrue(m.canRedo());
+    m.reset();
+    assertFalse(m.canUndo());
+    assertFalse(m.canRedo());
+    assertNull(m.getMarkAt(0, 0));
+    assertEquals(Player.X, m.getTurn());
+    assertEquals(0, m.getZobristKey());
+    m.move(1, 0);
+    m.move(0, 0);
+    m.move(1, 1);
+    m.move(0, 1);
+    m.move(1, 2);
+    assertEquals(Player.X, m.getWinner());
+    m.undo();
+    assertNull(m.getWinner());
+    assertNull(m.getMarkAt(1, 2));
+  }
+
+  /**
+   * Test undo takes back moves, including a winning one, and redo plays them again
+   */
+  @Test
+  public void testUndoRedo() {
+    BitboardTicTacToeModel m = new BitboardTicTacToeModel();
+    assertFalse(m.canUndo());
+    m.move(0, 0);
+    m.move(1, 0);
+    m.move(0, 1);
+    m.move(2, 0);
+    m.move(0, 2);
+    assertEquals(Player.X, m.getWinner());
+
+    m.undo();
+    assertFalse(m.isGameOver());
+    assertNull(m.getWinner());
+    assertNull(m.getMarkAt(0, 2));
+    assertEquals(Player.X, m.getTurn());
+    m.undo();
+    assertNull(m.getMarkAt(2, 0));
+    assertEquals(Player.O, m.getTurn());
+    assertTrue(m.canRedo());
+
+    m.redo();
+    m.redo();
+    assertFalse(m.canRedo());
+    assertEquals(Player.O, m.getMarkAt(2, 0));
+    assertEquals(Player.X, m.getWinner());
+    assertTrue(m.isGameOver());
+  }
+
+  /**
+   * Test a new move after an undo discards the moves that could be redone
+   */
+  @Test
+  public void testMoveClearsRedo() {
+    BitboardTicTacToeModel m = new BitboardTicTacToeModel();
+    m.move(1, 1);
+    m.move(0, 0);
+    m.undo();
+    m.move(2, 2);
+    assertFalse(m.canRedo());
+    assertNull(m.getMarkAt(0, 0));
+    m.undo();
+    m.undo();
+    assertFalse(m.canUndo());
+    assertTrue(m.canRedo());
+    m.reset();
+    assertFalse(m.canRedo());
+  }
+
+  /**
+   * Test undo of an empty game
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testUndoEmpty() {
+    new BitboardTicTacToeModel().undo();
+  }
+
+  /**
+   * Test redo without an undo
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testRedoNothing() {
+    BitboardTicTacToeModel m = new BitboardTicTacToeModel();
+    m.move(1, 1);
+    m.redo();
+  }
+
+  /**
+   * Test walking the whole game tree with make and unmake on one model, which finds every
+   * possible game
+   */
+  @Test
+  public void testWalkGameTree() {
+    BitboardTicTacToeModel m = new BitboardTicTacToeModel();
+    long[] results = new long[3];
+    walk(m, results);
+    assertEquals(131184, results[0]);
+    assertEquals(77904, results[1]);
+    assertEquals(46080, results[2]);
+    assertFalse(m.canUndo());
+  }
+
+  private static void walk(BitboardTicTacToeModel m, long[] results) {
+    if (m.isGameOver()) {
+      results[m.getWinner() == Player.X ? 0 : m.getWinner() == Player.O ? 1 : 2]++;
+      return;
+    }
+    for (int r = 0; r < 3; r++) {
+      for (int c = 0; c < 3; c++) {
+        if (m.getMarkAt(r, c) == null) {
+          m.move(r, c);
+          walk(m, results);
+          m.undo();
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,64 @@
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+
+import tictactoe.BitboardTicTacToeModel;
+import tictactoe.BoardRenderer;
+import tictactoe.MnkTicTacToeModel;
+import tictactoe.TicTacToe;
+import tictactoe.TicTacToeModel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Test cases for rendering boards into appendables.
+ */
+public class BoardRendererTest {
+
+  /**
+   * Rendering into a buffer gives the same text as toString
+   */
+  @Test
+  public void testRenderIntoBuffer() throws IOException {
+    TicTacToe m = new TicTacToeModel();
+    m.move(0, 0);
+    m.move(1, 2);
+    CharBuffer buffer = CharBuffer.allocate(64);
+    BoardRenderer.render(buffer, m);
+    buffer.flip();
+    assertEquals(" X |   |  \n"
+            + "-----------\n"
+            + "   |   | O\n"
+            + "-----------\n"
+            + "   |   |  ", buffer.toString());
+  }
+
+  /**
+   * The same position is only rendered once, whatever the model
+   */
+  @Test
+  public void testSamePositionIsCached() {
+    TicTacToe a = new TicTacToeModel();
+    TicTacToe b = new BitboardTicTacToeModel();
+    a.move(2, 2);
+    b.move(2, 2);
+    assertSame(a.toString(), b.toString());
+  }
+
+  /**
+   * Larger boards widen the separator line
+   */
+  @Test
+  public void testLargerBoard() {
+    TicTacToe m = new MnkTicTacToeModel(2, 4, 3);
+    m.move(1, 3);
+    StringBuilder sb = new StringBuilder("> ");
+    BoardRenderer.render(sb, m);
+    assertEquals(">    |   |   |  \n"
+            + "---------------\n"
+            + "   |   |   | X", sb.toString());
+    assertEquals(m.snapshot().toString(), m.toString());
+  }
+}
@@ -0,0 +1,90 @@
+import org.junit.Test;
+
+import tictactoe.BitboardTicTacToeModel;
+import tictactoe.BoardRenderer;
+import tictactoe.BoardSnapshot;
+import tictactoe.MnkTicTacToeModel;
+import tictactoe.Player;
+import tictactoe.TicTacToe;
+import tictactoe.TicTacToeModel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Test cases for the read-only board snapshots.
+ */
+public class BoardSnapshotTest {
+
+  /**
+   * A snapshot does not change when the game goes on
+   */
+  @Test
+  public void testSnapshotIsImmutable() {
+    TicTacToe m = new TicTacToeModel();
+    m.move(1, 1);
+    BoardSnapshot before = m.snapshot();
+    m.move(0, 0);
+    assertNull(before.getMarkAt(0, 0));
+    assertEquals(Player.X, before.getMarkAt(1, 1));
+    assertEquals(1, before.getMarkCount());
+    assertEquals(2, m.snapshot().getMarkCount());
+  }
+
+  /**
+   * Every model gives the same snapshot and encoding for the same board
+   */
+  @Test
+  public void testSameBoardSameSnapshot() {
+    TicTacToe[] models = {new TicTacToeModel(), new BitboardTicTacToeModel(),
+        new MnkTicTacToeModel(3, 3, 3)};
+    for (TicTacToe m : models) {
+      m.move(0, 2);
+      m.move(2, 1);
+    }
+    BoardSnapshot expected = models[0].snapshot();
+    for (TicTacToe m : models) {
+      assertEquals(expected, m.snapshot());
+      assertEquals(expected.hashCode(), m.snapshot().hashCode());
+      assertEquals((1L << 4) | (2L << 14), m.snapshot().encode());
+      assertEquals(m.toString(), m.snapshot().toString());
+    }
+    assertNotEquals(expected, new TicTacToeModel().snapshot());
+  }
+
+  /**
+   * Large boards are kept in several words
+   */
+  @Test
+  public void testLargeBoard() {
+    TicTacToe m = new MnkTicTacToeModel(15, 15, 5);
+    m.move(14, 14);
+    m.move(7, 3);
+    BoardSnapshot s = m.snapshot();
+    assertEquals(Player.X, s.getMarkAt(14, 14));
+    assertEquals(Player.O, s.getMarkAt(7, 3));
+    assertNull(s.getMarkAt(0, 0));
+    assertEquals(m.toString(), s.toString());
+  }
+
+  /**
+   * A three-by-three snapshot is rendered from the same cached text as its board
+   */
+  @Test
+  public void testRenderedLikeBoard() {
+    TicTacToe m = new BitboardTicTacToeModel();
+    m.move(1, 1);
+    m.move(0, 2);
+    assertSame(BoardRenderer.toString(m), m.snapshot().toString());
+  }
+
+  /**
+   * A snapshot keeps the bounds of its board
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testOutOfBoundary() {
+    new TicTacToeModel().snapshot().getMarkAt(3, 0);
+  }
+}
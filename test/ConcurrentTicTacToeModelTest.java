@@ -0,0 +1,280 @@
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicReference;
+
+import tictactoe.BoardSnapshot;
+import tictactoe.ConcurrentTicTacToeModel;
+import tictactoe.Player;
+import tictactoe.TicTacToe;
+import tictactoe.TicTacToeModel;
+import tictactoe.VersionedSnapshot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for the thread-safe tic-tac-toe model: it behaves like
+ * {@link tictactoe.TicTacToeModel} on one thread, and its history stays linearizable when many
+ * threads move and read at the same time.
+ */
+public class ConcurrentTicTacToeModelTest {
+
+  private static String outcome(TicTacToe m, int r, int c) {
+    try {
+      m.move(r, c);
+      return "moved";
+    } catch (RuntimeException e) {
+      return e.getClass().getSimpleName();
+    }
+  }
+
+  private static final int PLAYERS = 8;
+  private static final int SPECTATORS = 2;
+
+  private final ConcurrentTicTacToeModel ttt1 = new ConcurrentTicTacToeModel();
+
+  /**
+   * Every move, valid or not and before or after the end of the game, is accepted or rejected
+   * with the same exception as by the original model
+   */
+  @Test
+  public void testSameOutcomesAsModel() {
+    SplittableRandom random = new SplittableRandom(7);
+    for (int game = 0; game < 500; game++) {
+      TicTacToe expected = new TicTacToeModel();
+      ConcurrentTicTacToeModel actual = new ConcurrentTicTacToeModel();
+      for (int i = 0; i < 20; i++) {
+        int r = random.nextInt(-1, 4);
+        int c = random.nextInt(-1, 4);
+        assertEquals(outcome(expected, r, c), outcome(actual, r, c));
+        assertEquals(expected.toString(), actual.toString());
+      }
+      //Fill the board in order to end the game, then try every cell and beyond once more
+      for (int i = 0; i < 2; i++) {
+        for (int r = -1; r < 4; r++) {
+          for (int c = -1; c < 4; c++) assertEquals(outcome(expected, r, c), outcome(actual, r, c));
+        }
+      }
+      assertTrue(actual.isGameOver());
+    }
+  }
+
+  /**
+   * Test the game boundaries, a player can only move within 0 - 2
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testMoveIllegalInput() {
+    ttt1.move(0, 3);
+  }
+
+  /**
+   * Test there is not possible to move on a position that has already taken
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testMoveSpaceTaken() {
+    ttt1.move(1, 1);
+    ttt1.move(1, 1);
+  }
+
+  /**
+   * Test a horizontal win and the board representation
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testHorizontalWin() {
+    ttt1.move(0, 0);
+    ttt1.move(1, 0);
+    ttt1.move(0, 1);
+    ttt1.move(2, 0);
+    assertNull(ttt1.getWinner());
+    ttt1.move(0, 2);
+    assertTrue(ttt1.isGameOver());
+    assertEquals(Player.X, ttt1.getWinner());
+    assertEquals(" X | X | X\n"
+            + "-----------\n"
+            + " O |   |  \n"
+            + "-----------\n"
+            + " O |   |  ", ttt1.toString());
+    ttt1.move(2, 2);
+  }
+
+  /**
+   * Test a tie, game ends not winner
+   */
+  @Test
+  public void testCatsGame() {
+    int[][] moves = {{0, 0}, {1, 1}, {0, 2}, {0, 1}, {2, 1}, {1, 0}, {1, 2}, {2, 2}, {2, 0}};
+    for (int[] move : moves) {
+      assertFalse(ttt1.isGameOver());
+      ttt1.move(move[0], move[1]);
+    }
+    assertTrue(ttt1.isGameOver());
+    assertNull(ttt1.getWinner());
+    assertEquals(9, ttt1.getVersion());
+  }
+
+  /**
+   * Test a move only happens on the version it was decided on
+   */
+  @Test
+  public void testTryMove() {
+    long version = ttt1.getVersion();
+    assertTrue(ttt1.tryMove(version, 1, 1));
+    assertFalse(ttt1.tryMove(version, 0, 0));
+    assertNull(ttt1.getMarkAt(0, 0));
+    assertEquals(Player.O, ttt1.getTurn());
+    assertTrue(ttt1.tryMove(version + 1, 0, 0));
+    assertEquals(Player.O, ttt1.getMarkAt(0, 0));
+  }
+
+  /**
+   * A versioned snapshot shows one state, and a move decided on it fails once the game moved on
+   */
+  @Test
+  public void testVersionedSnapshot() {
+    ttt1.move(1, 1);
+    VersionedSnapshot view = ttt1.versionedSnapshot();
+    assertEquals(1, view.getVersion());
+    assertEquals(Player.O, view.getTurn());
+    assertEquals(Player.X, view.getBoard().getMarkAt(1, 1));
+    assertFalse(view.isGameOver());
+
+    assertTrue(ttt1.tryMove(view, 0, 0));
+    assertFalse(ttt1.tryMove(view, 0, 1));
+    assertNull(ttt1.getMarkAt(0, 1));
+    assertEquals(Player.O, view.getTurn());
+  }
+
+  /**
+   * Many players race to move on the same games while spectators read them. Every successful
+   * move must get its own version, replaying the moves in version order on a sequential model
+   * must give the final board, and every board a spectator sees must be one of those states.
+   */
+  @Test(timeout = 60000)
+  public void testLinearizableUnderContention() throws Exception {
+    for (int game = 0; game < 200; game++) {
+      ConcurrentTicTacToeModel shared = new ConcurrentTicTacToeModel();
+      //The cell played at each version, filled by the player that won it
+      ConcurrentHashMap<Long, Integer> history = new ConcurrentHashMap<>();
+      List<List<BoardSnapshot>> seen = new ArrayList<>();
+      AtomicReference<Throwable> failure = new AtomicReference<>();
+      CyclicBarrier start = new CyclicBarrier(PLAYERS + SPECTATORS);
+      List<Thread> threads = new ArrayList<>();
+
+      for (int p = 0; p < PLAYERS; p++) {
+        long seed = 31L * game + p;
+        threads.add(new Thread(() -> {
+          SplittableRandom random = new SplittableRandom(seed);
+          try {
+            start.await();
+            while (true) {
+              VersionedSnapshot view = shared.versionedSnapshot();
+              if (view.isGameOver()) break;
+              int cell = random.nextInt(9);
+              //Only empty cells of the snapshot, so a move on that state can never be rejected
+              if (view.getBoard().getMarkAt(cell / 3, cell % 3) != null) continue;
+              if (shared.tryMove(view, cell / 3, cell % 3)) {
+                Integer previous = history.put(view.getVersion(), cell);
+                if (previous != null) {
+                  throw new AssertionError("Two moves at version " + view.getVersion());
+                }
+              }
+            }
+          } catch (Throwable t) {
+            failure.compareAndSet(null, t);
+          }
+        }));
+      }
+      for (int s = 0; s < SPECTATORS; s++) {
+        List<BoardSnapshot> mine = new ArrayList<>();
+        seen.add(mine);
+        threads.add(new Thread(() -> {
+          try {
+            start.await();
+            long last = -1;
+            while (true) {
+              VersionedSnapshot view = shared.versionedSnapshot();
+              BoardSnapshot board = view.getBoard();
+              if (view.getVersion() < last) throw new AssertionError("Version went back");
+              last = view.getVersion();
+              int x = 0;
+              for (int cell = 0; cell < 9; cell++) {
+                if (board.getMarkAt(cell / 3, cell % 3) == Player.X) x++;
+              }
+              int o = board.getMarkCount() - x;
+              //Every move is one version, so the board and the version match exactly
+              if (board.getMarkCount() != view.getVersion() || x - o > 1 || o > x
+                  || view.getTurn() != (x == o ? Player.X : Player.O)) {
+                throw new AssertionError("Board does not match its version: " + view);
+              }
+              mine.add(board);
+              if (view.isGameOver()) break;
+            }
+          } catch (Throwable t) {
+            failure.compareAndSet(null, t);
+          }
+        }));
+      }
+
+      for (Thread t : threads) t.start();
+      for (Thread t : threads) t.join();
+      if (failure.get() != null) throw new AssertionError(failure.get());
+
+      //Replay the history in version order
+      long moves = shared.getVersion();
+      assertEquals(moves, history.size());
+      TicTacToe sequential = new TicTacToeModel();
+      List<BoardSnapshot> states = new ArrayList<>();
+      states.add(sequential.snapshot());
+      for (long v = 0; v < moves; v++) {
+        Integer cell = history.get(v);
+        sequential.move(cell / 3, cell % 3);
+        states.add(sequential.snapshot());
+      }
+      assertTrue(sequential.isGameOver());
+      assertEquals(sequential.getWinner(), shared.getWinner());
+      assertEquals(sequential.snapshot(), shared.snapshot());
+      //Spectators only see states of that history, in order, each at its own version
+      for (List<BoardSnapshot> boards : seen) {
+        int previous = 0;
+        for (BoardSnapshot board : boards) {
+          int index = states.indexOf(board);
+          assertTrue(board.toString(), index >= previous);
+          assertEquals(board.getMarkCount(), index);
+          previous = index;
+        }
+      }
+    }
+  }
+
+  /**
+   * Test a reset keeps counting versions, so a move decided before it fails
+   */
+  @Test
+  public void testReset() {
+    ttt1.move(0, 0);
+    ttt1.move(1, 0);
+    VersionedSnapshot before = ttt1.versionedSnapshot();
+    ttt1.move(0, 1);
+    ttt1.move(2, 0);
+    ttt1.move(0, 2);
+    assertTrue(ttt1.isGameOver());
+    ttt1.reset();
+    assertEquals(6, ttt1.getVersion());
+    assertFalse(ttt1.isGameOver());
+    assertNull(ttt1.getMarkAt(0, 0));
+    assertEquals(Player.X, ttt1.getTurn());
+    assertFalse(ttt1.tryMove(before, 1, 1));
+    assertNull(ttt1.getMarkAt(1, 1));
+    VersionedSnapshot after = ttt1.versionedSnapshot();
+    assertTrue(ttt1.tryMove(after, 1, 1));
+    assertEquals(Player.X, ttt1.getMarkAt(1, 1));
+    assertEquals(7, ttt1.getVersion());
+  }
+}
@@ -0,0 +1,181 @@
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.Random;
+
+import tictactoe.TicTacToe;
+import tictactoe.TicTacToeConsoleController;
+import tictactoe.TicTacToeEventController;
+import tictactoe.TicTacToeModel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Runs the console controller scenarios against both controllers and checks they print the
+ * same, with the input of the event-driven one split into events in different ways.
+ */
+public class ControllerConformanceTest {
+
+  //The inputs of TicTacToeControllerTest.
+  private static final String[] SCENARIOS = {
+      "2 2 q",
+      "!#$ 2 q",
+      "2 2 1 1 3 3 1 2 1 3 2 3 2 1 3 1 3 2",
+      "1 1 2 2 2 3 3",
+      "1 1 1 2 1 3 2 1 2 3 1 3 3 1 2 2 3 2 3 3",
+      "2 2 2 2 1 1 1 1 3 3 3 3 1 2 1 2 1 3 1 3 2 3 2 3 2 1 2 1 3 1 3 1 3 2 3 2",
+      "1 1 1 2 1 3 1 1 1 2 1 3 2 1 3 3 2 2 3 2 2 3 2 2",
+      "2 2 q 2 ",
+      "2 2 1 Q ",
+      "2 2 A B C D E F q",
+      "2 2 1 A B C D E F q",
+      "2 2 4 5 8 8 -1 -1 3 8 3 4 4 5 6 6 q",
+      "2 2 1 1 3 3 2 2 1 1 3 3 2 2 1 1 3 3 q ",
+      "2 2 1 1 3 3 a 1 b c 1a -100 -4 q",
+      "1 1 1 1 2 2 2 2 3 3 3 3 1 3 1 3 2 3 2 3 2 1 2 1 3 1 3 1 3 2 3 2 1 2",
+      "+2 2 1,000 2147483648 1,00 -0 -1 00 q"
+  };
+
+  /**
+   * Each scenario sent as a single event
+   */
+  @Test
+  public void testWholeInput() {
+    for (String scenario : SCENARIOS) assertConforms(scenario, new int[] {Integer.MAX_VALUE});
+  }
+
+  /**
+   * Each scenario sent one character at a time
+   */
+  @Test
+  public void testSingleCharacters() {
+    for (String scenario : SCENARIOS) assertConforms(scenario, new int[] {1});
+  }
+
+  /**
+   * Each scenario split at random points, tokens included
+   */
+  @Test
+  public void testRandomSplits() {
+    Random random = new Random(42);
+    for (String scenario : SCENARIOS) {
+      for (int i = 0; i < 20; i++) {
+        int[] sizes = new int[8];
+        for (int j = 0; j < sizes.length; j++) sizes[j] = 1 + random.nextInt(6);
+        assertConforms(scenario, sizes);
+      }
+    }
+  }
+
+  /**
+   * Random games with invalid tokens mixed in
+   */
+  @Test
+  public void testRandomScripts() {
+    Random random = new Random(7);
+    String[] tokens = {"1", "2", "3", "0", "4", "-1", "x", "q", "+2", "1,000"};
+    for (int i = 0; i < 2000; i++) {
+      StringBuilder script = new StringBuilder();
+      int length = random.nextInt(40);
+      for (int j = 0; j < length; j++) {
+        script.append(tokens[random.nextInt(tokens.length - (random.nextInt(20) == 0 ? 0 : 1))]);
+        script.append(random.nextBoolean() ? " " : "\n");
+      }
+      assertConforms(script.toString(), new int[] {1 + random.nextInt(10)});
+    }
+  }
+
+  /**
+   * A last token without whitespace after it is handled at the end of the input
+   */
+  @Test
+  public void testLastTokenAtEnd() {
+    TicTacToeEventController c = new TicTacToeEventController(new TicTacToeModel());
+    c.start();
+    assertTrue(c.onInput("2 2 ").toString().endsWith("Enter a move for O:\n"));
+    assertEquals("", c.onInput("q").toString());
+    assertFalse(c.isFinished());
+    assertTrue(c.onEndOfInput().toString().startsWith("Game quit! Ending game state:\n"));
+    assertTrue(c.isFinished());
+  }
+
+  /**
+   * Input that ends before the game is an error, like in the console controller
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testTerminatedAbruptly() {
+    TicTacToeEventController c = new TicTacToeEventController(new TicTacToeModel());
+    c.start();
+    c.onInput("1 1 2 2 ");
+    c.onEndOfInput();
+  }
+
+  /**
+   * No input is accepted before the start or after the end
+   */
+  @Test
+  public void testLifecycle() {
+    TicTacToeEventController c = new TicTacToeEventController(new TicTacToeModel());
+    try {
+      c.onInput("1 1 ");
+      fail("Input before the start");
+    } catch (IllegalStateException e) {
+      //Expected
+    }
+    c.start();
+    c.onInput("q ");
+    try {
+      c.onInput("1 1 ");
+      fail("Input after the end");
+    } catch (IllegalStateException e) {
+      //Expected
+    }
+  }
+
+  /**
+   * A null game is rejected
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidModel() {
+    new TicTacToeEventController(null);
+  }
+
+  /**
+   * Play a script through both controllers and compare what they print. The event-driven one
+   * gets the script split into events of the given sizes, used in turn, and a final space so
+   * that no token is left for the end of the input.
+   */
+  private static void assertConforms(String script, int[] sizes) {
+    StringBuilder expected = new StringBuilder();
+    boolean consoleFailed = false;
+    try {
+      new TicTacToeConsoleController(new StringReader(script), expected).playGame(new TicTacToeModel());
+    } catch (IllegalStateException e) {
+      consoleFailed = true;
+    }
+
+    TicTacToe m = new TicTacToeModel();
+    TicTacToeEventController c = new TicTacToeEventController(m);
+    StringBuilder actual = new StringBuilder(c.start());
+    String input = script + " ";
+    for (int i = 0, k = 0; i < input.length() && !c.isFinished(); k++) {
+      int end = (int) Math.min(input.length(), (long) i + sizes[k % sizes.length]);
+      actual.append(c.onInput(input.subSequence(i, end)));
+      i = end;
+    }
+    boolean eventFailed = false;
+    if (!c.isFinished()) {
+      try {
+        c.onEndOfInput();
+      } catch (IllegalStateException e) {
+        eventFailed = true;
+      }
+    }
+
+    assertEquals(script, expected.toString(), actual.toString());
+    assertEquals(script, consoleFailed, eventFailed);
+  }
+}
@@ -0,0 +1,209 @@
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import tictactoe.BitboardTicTacToeModel;
+import tictactoe.CachingMoveStrategy;
+import tictactoe.EvaluationCache;
+import tictactoe.GameSimulator;
+import tictactoe.Move;
+import tictactoe.SimulationResult;
+import tictactoe.Solution;
+import tictactoe.SolvingStrategy;
+import tictactoe.TicTacToeModel;
+import tictactoe.TicTacToeSolver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for the shared evaluation cache.
+ */
+public class EvaluationCacheTest {
+
+  /**
+   * An evaluation is read back as it was stored, and counted as a hit
+   */
+  @Test
+  public void testStoreAndLookup() {
+    EvaluationCache cache = new EvaluationCache(1000, EvaluationCache.Policy.LRU);
+    assertEquals(EvaluationCache.MISS, cache.lookup(42));
+    cache.store(42, 4, -7, 9);
+    cache.store(0, 0, 0, 0);
+    long entry = cache.lookup(42);
+    assertEquals(4, EvaluationCache.cellOf(entry));
+    assertEquals(-7, EvaluationCache.scoreOf(entry));
+    assertEquals(9, EvaluationCache.depthOf(entry));
+    assertEquals(EvaluationCache.pack(0, 0, 0), cache.lookup(0));
+    assertEquals(2, cache.getHits());
+    assertEquals(1, cache.getMisses());
+    assertEquals(2, cache.size());
+  }
+
+  /**
+   * A shallower evaluation does not replace a deeper one
+   */
+  @Test
+  public void testDeeperEntryKept() {
+    EvaluationCache cache = new EvaluationCache(100, EvaluationCache.Policy.LRU);
+    cache.store(1, 3, 10, 5);
+    cache.store(1, 6, 20, 2);
+    assertEquals(3, EvaluationCache.cellOf(cache.lookup(1)));
+    cache.store(1, 8, 30, 5);
+    assertEquals(8, EvaluationCache.cellOf(cache.lookup(1)));
+  }
+
+  /**
+   * The cache never holds more than its capacity
+   */
+  @Test
+  public void testBounded() {
+    EvaluationCache cache = new EvaluationCache(1024, EvaluationCache.Policy.LRU, 4);
+    assertEquals(1024, cache.getCapacity());
+    for (int key = 0; key < 10000; key++) cache.store(key, 1, 1, 1);
+    assertEquals(1024, cache.size());
+    assertEquals(10000 - 1024, cache.getEvictions());
+  }
+
+  /**
+   * In a full set the least recently used entry goes first
+   */
+  @Test
+  public void testLeastRecentlyUsedEvicted() {
+    EvaluationCache cache = new EvaluationCache(EvaluationCache.WAYS, EvaluationCache.Policy.LRU, 1);
+    for (int key = 0; key < EvaluationCache.WAYS; key++) cache.store(key, key, 0, 0);
+    cache.lookup(0);
+    cache.store(100, 1, 0, 0);
+    assertEquals(0, EvaluationCache.cellOf(cache.lookup(0)));
+    assertEquals(EvaluationCache.MISS, cache.lookup(1));
+    assertEquals(1, cache.getEvictions());
+  }
+
+  /**
+   * Popular entries survive a scan of keys seen once with admission, but not without it. A few
+   * of the popular keys may not fit their set to begin with
+   */
+  @Test
+  public void testAdmissionResistsScans() {
+    for (EvaluationCache.Policy policy : EvaluationCache.Policy.values()) {
+      EvaluationCache cache = new EvaluationCache(64, policy, 1);
+      for (int key = 0; key < 32; key++) {
+        cache.lookup(key);
+        cache.store(key, 1, 0, 0);
+      }
+      int before = 0;
+      for (int round = 0; round < 10; round++) {
+        before = 0;
+        for (int key = 0; key < 32; key++) {
+          if (cache.lookup(key) != EvaluationCache.MISS) before++;
+        }
+      }
+      for (int key = 1000; key < 1300; key++) {
+        if (cache.lookup(key) == EvaluationCache.MISS) cache.store(key, 1, 0, 0);
+      }
+      int kept = 0;
+      for (int key = 0; key < 32; key++) {
+        if (cache.lookup(key) != EvaluationCache.MISS) kept++;
+      }
+      if (policy == EvaluationCache.Policy.TINY_LFU) {
+        assertTrue(before > 24);
+        assertEquals(before, kept);
+        assertTrue(cache.getRejections() > 0);
+      } else {
+        assertEquals(0, kept);
+        assertEquals(0, cache.getRejections());
+      }
+    }
+  }
+
+  /**
+   * Every lookup from many threads is counted once as a hit or a miss
+   */
+  @Test
+  public void testConcurrentCounters() throws InterruptedException {
+    EvaluationCache cache = new EvaluationCache(4096, EvaluationCache.Policy.TINY_LFU);
+    Thread[] threads = new Thread[8];
+    for (int t = 0; t < threads.length; t++) {
+      int seed = t;
+      threads[t] = new Thread(() -> {
+        for (int i = 0; i < 20000; i++) {
+          long key = (i * 31L + seed) % 10000;
+          long entry = cache.lookup(key);
+          if (entry == EvaluationCache.MISS) {
+            cache.store(key, (int) (key % 9), (int) key, 1);
+          } else {
+            assertEquals(key % 9, EvaluationCache.cellOf(entry));
+            assertEquals(key, EvaluationCache.scoreOf(entry));
+          }
+        }
+      });
+      threads[t].start();
+    }
+    for (Thread thread : threads) thread.join();
+    assertEquals(8 * 20000, cache.getHits() + cache.getMisses());
+    assertTrue(cache.size() <= cache.getCapacity());
+  }
+
+  /**
+   * Cached solver moves are shared by every game and only solved once per position
+   */
+  @Test
+  public void testCachingStrategy() {
+    EvaluationCache cache = new EvaluationCache(10000, EvaluationCache.Policy.LRU);
+    TicTacToeSolver solver = new TicTacToeSolver();
+    AtomicInteger solved = new AtomicInteger();
+    SolvingStrategy counted = m -> {
+      solved.incrementAndGet();
+      return solver.solve(m);
+    };
+    SimulationResult result = new GameSimulator(BitboardTicTacToeModel::new,
+        () -> new CachingMoveStrategy(counted, cache), () -> new CachingMoveStrategy(counted, cache))
+        .run(1000, new ForkJoinPool(4));
+    assertEquals(1000, result.getDraws());
+    assertTrue(solved.get() < 40);
+    assertTrue(cache.getHits() > 8000);
+  }
+
+  /**
+   * Cached solutions keep their value and depth, a shallower entry is solved again, and the
+   * deeper entry is kept over a shallower one stored later
+   */
+  @Test
+  public void testCachingStrategyDepth() {
+    EvaluationCache cache = new EvaluationCache(100, EvaluationCache.Policy.LRU);
+    AtomicInteger solved = new AtomicInteger();
+    TicTacToeSolver solver = new TicTacToeSolver();
+    CachingMoveStrategy strategy = new CachingMoveStrategy(m -> {
+      solved.incrementAndGet();
+      return solver.solve(m);
+    }, cache);
+    TicTacToeModel m = new TicTacToeModel();
+    m.move(0, 0);
+    long key = m.getZobristKey() ^ (3L << 16 | 3 << 8 | 3) * 0x9E3779B97F4A7C15L;
+
+    cache.store(key, 8, Solution.WIN, 1);
+    Solution s = strategy.solve(m);
+    assertEquals(1, solved.get());
+    assertEquals(new Move(1, 1), s.getMove());
+    assertEquals(Solution.DRAW, s.getValue());
+    assertEquals(8, s.getDepth());
+    assertEquals(8, EvaluationCache.depthOf(cache.lookup(key)));
+
+    cache.store(key, 8, Solution.WIN, 1);
+    assertEquals(8, EvaluationCache.depthOf(cache.lookup(key)));
+    s = strategy.solve(m);
+    assertEquals(1, solved.get());
+    assertEquals(new Move(1, 1), s.getMove());
+    assertEquals(Solution.DRAW, s.getValue());
+    assertEquals(8, s.getDepth());
+  }
+
+  /**
+   * The cache rejects invalid evaluations
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidEvaluation() {
+    new EvaluationCache(10, EvaluationCache.Policy.LRU).store(1, 1 << 16, 0, 0);
+  }
+}
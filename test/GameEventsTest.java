@@ -0,0 +1,190 @@
+import org.junit.Test;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import tictactoe.GameEndEvent;
+import tictactoe.GameStartEvent;
+import tictactoe.InvalidInputEvent;
+import tictactoe.Main;
+import tictactoe.MoveEvent;
+import tictactoe.OutputFlushEvent;
+import tictactoe.TicTacToeConsoleController;
+import tictactoe.TicTacToeModel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for the Flight Recorder events of the model and the console controller.
+ */
+public class GameEventsTest {
+
+  /**
+   * A recording that enables the events sees the whole lifecycle of a won game
+   */
+  @Test
+  public void testWonGame() throws Exception {
+    List<RecordedEvent> events = record(() -> play("1 1 2 1 1 2 2 2 1 3"), enabled());
+
+    RecordedEvent start = only(events, "tictactoe.GameStart");
+    assertEquals(3, start.getInt("rows"));
+    assertEquals(3, start.getInt("winLength"));
+
+    List<RecordedEvent> moves = named(events, "tictactoe.Move");
+    assertEquals(5, moves.size());
+    assertEquals(0, moves.get(0).getInt("cell"));
+    assertEquals("X", moves.get(0).getString("player"));
+    assertEquals(3, moves.get(1).getInt("cell"));
+    assertEquals("O", moves.get(1).getString("player"));
+
+    RecordedEvent end = only(events, "tictactoe.GameEnd");
+    assertEquals("X", end.getString("winner"));
+    assertEquals(5, end.getInt("moves"));
+    assertFalse(end.getBoolean("quit"));
+
+    //One flush per prompt and one at the end
+    assertEquals(6, named(events, "tictactoe.OutputFlush").size());
+  }
+
+  /**
+   * Invalid numbers and moves and a quit are recorded
+   */
+  @Test
+  public void testInvalidInputAndQuit() throws Exception {
+    List<RecordedEvent> events = record(() -> play("2 2 two 2 2 q"), enabled());
+
+    List<RecordedEvent> invalid = named(events, "tictactoe.InvalidInput");
+    assertEquals(2, invalid.size());
+    assertEquals("two", invalid.get(0).getString("input"));
+    assertFalse(invalid.get(0).getBoolean("move"));
+    assertEquals("2 2", invalid.get(1).getString("input"));
+    assertTrue(invalid.get(1).getBoolean("move"));
+
+    RecordedEvent end = only(events, "tictactoe.GameEnd");
+    assertNull(end.getString("winner"));
+    assertEquals(1, end.getInt("moves"));
+    assertTrue(end.getBoolean("quit"));
+  }
+
+  /**
+   * The events are off in a recording that does not enable them
+   */
+  @Test
+  public void testDisabledByDefault() throws Exception {
+    List<RecordedEvent> events = record(() -> play("1 1 2 1 q"),
+        new Recording(Configuration.getConfiguration("default")));
+    assertTrue(events.stream().noneMatch(e -> e.getEventType().getName().startsWith("tictactoe.")));
+  }
+
+  /**
+   * The settings file shipped with the project enables every event
+   */
+  @Test
+  public void testSettingsFile() throws Exception {
+    List<RecordedEvent> events = record(() -> play("1 1 q"),
+        new Recording(Configuration.create(settingsFile())));
+    assertEquals(1, named(events, "tictactoe.GameStart").size());
+    assertEquals(1, named(events, "tictactoe.Move").size());
+    assertEquals(1, named(events, "tictactoe.GameEnd").size());
+  }
+
+  /**
+   * With metrics on, the controller output is wrapped to count characters, and flushes still
+   * reach the console and are recorded
+   */
+  @Test(timeout = 30000)
+  public void testWithMetrics() throws Exception {
+    Path file = Files.createTempFile("game", ".jfr");
+    try {
+      String java = System.getProperty("java.home") + File.separator + "bin" + File.separator
+          + "java";
+      Process p = new ProcessBuilder(java, "-Dtictactoe.metrics=true",
+          "-XX:StartFlightRecording:settings=" + settingsFile() + ",filename=" + file,
+          "-cp", System.getProperty("java.class.path"), Main.class.getName())
+          .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+      try (OutputStream in = p.getOutputStream()) {
+        in.write("1 1 2 1 q\n".getBytes(StandardCharsets.UTF_8));
+      }
+      String err = new String(p.getErrorStream().readAllBytes(), StandardCharsets.UTF_8);
+      assertEquals(0, p.waitFor());
+      assertTrue(err.contains("moves 2\n"));
+
+      List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+      assertEquals(2, named(events, "tictactoe.Move").size());
+      //One flush per prompt and one when the game is quit
+      assertEquals(4, named(events, "tictactoe.OutputFlush").size());
+      assertTrue(only(events, "tictactoe.GameEnd").getBoolean("quit"));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  /**
+   * Find the settings file of the project in the working directory or one of its parents.
+   * @return the path of tictactoe.jfc
+   */
+  private static Path settingsFile() {
+    for (Path dir = Paths.get("").toAbsolutePath(); dir != null; dir = dir.getParent()) {
+      Path jfc = dir.resolve("tictactoe.jfc");
+      if (Files.exists(jfc)) return jfc;
+    }
+    throw new AssertionError("tictactoe.jfc not found from " + Paths.get("").toAbsolutePath());
+  }
+
+  private static Recording enabled() {
+    Recording r = new Recording();
+    r.enable(GameStartEvent.class);
+    r.enable(GameEndEvent.class);
+    r.enable(MoveEvent.class);
+    r.enable(InvalidInputEvent.class);
+    r.enable(OutputFlushEvent.class);
+    return r;
+  }
+
+  private static void play(String input) {
+    new TicTacToeConsoleController(new StringReader(input), new StringWriter())
+        .playGame(new TicTacToeModel());
+  }
+
+  private static List<RecordedEvent> record(Runnable game, Recording r) throws Exception {
+    Path file = Files.createTempFile("game", ".jfr");
+    try {
+      r.start();
+      game.run();
+      r.stop();
+      r.dump(file);
+      return RecordingFile.readAllEvents(file);
+    } finally {
+      r.close();
+      Files.deleteIfExists(file);
+    }
+  }
+
+  private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+    return events.stream().filter(e -> e.getEventType().getName().equals(name))
+        .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+        .collect(Collectors.toList());
+  }
+
+  private static RecordedEvent only(List<RecordedEvent> events, String name) {
+    List<RecordedEvent> found = named(events, name);
+    assertEquals(1, found.size());
+    return found.get(0);
+  }
+}
@@ -0,0 +1,149 @@
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import javax.management.ObjectName;
+
+import tictactoe.GameMetrics;
+import tictactoe.LatencyHistogram;
+import tictactoe.Main;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for the metrics of the models and controllers.
+ */
+public class GameMetricsTest {
+
+  /**
+   * Percentiles are reported within the precision of a bucket
+   */
+  @Test
+  public void testPercentiles() {
+    LatencyHistogram h = new LatencyHistogram();
+    for (int v = 1; v <= 1000; v++) h.record(v * 1000L);
+    assertEquals(1000, h.getCount());
+    assertEquals(1_000_000, h.getMax());
+    assertEquals(500_500, h.getMean(), 0.001);
+    assertNear(500_000, h.getValueAtPercentile(50));
+    assertNear(990_000, h.getValueAtPercentile(99));
+    assertEquals(1_000_000, h.getValueAtPercentile(100));
+    assertNear(1000, h.getValueAtPercentile(0));
+  }
+
+  /**
+   * Small values are exact and negative values are recorded as zero
+   */
+  @Test
+  public void testSmallValues() {
+    LatencyHistogram h = new LatencyHistogram();
+    h.record(-5);
+    h.record(7);
+    h.record(31);
+    assertEquals(0, h.getValueAtPercentile(10));
+    assertEquals(7, h.getValueAtPercentile(50));
+    assertEquals(31, h.getValueAtPercentile(100));
+    h.reset();
+    assertEquals(0, h.getCount());
+    assertEquals(0, h.getValueAtPercentile(50));
+  }
+
+  /**
+   * No latency is lost when threads record at the same time
+   */
+  @Test
+  public void testConcurrentRecording() {
+    LatencyHistogram h = new LatencyHistogram();
+    List<CompletableFuture<Void>> tasks = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      tasks.add(CompletableFuture.runAsync(() -> {
+        for (int i = 0; i < 100_000; i++) h.record(i % 5000);
+      }));
+    }
+    tasks.forEach(CompletableFuture::join);
+    assertEquals(400_000, h.getCount());
+    assertEquals(4999, h.getMax());
+  }
+
+  /**
+   * The counters, rates and text snapshot follow the events recorded
+   */
+  @Test
+  public void testCounters() throws Exception {
+    GameMetrics metrics = new GameMetrics();
+    for (int i = 0; i < 4; i++) metrics.gameStarted();
+    metrics.gameQuit();
+    metrics.gameFinished();
+    metrics.invalidMove();
+    metrics.invalidNumber();
+    metrics.invalidNumber();
+    metrics.recordMove(100);
+    metrics.count(new StringBuilder()).append("abc").append('\n').append("xyz", 1, 3);
+
+    assertEquals(0.25, metrics.getQuitRate(), 0);
+    assertEquals(1, metrics.getMoves());
+    assertEquals(6, metrics.getOutputChars());
+    assertTrue(metrics.getGamesPerSecond() > 0);
+    String dump = metrics.getSnapshot();
+    assertTrue(dump.contains("invalid.moves 1\n"));
+    assertTrue(dump.contains("invalid.numbers 2\n"));
+    assertTrue(dump.contains("games.started 4\n"));
+
+    metrics.reset();
+    assertEquals(0, metrics.getGamesStarted());
+    assertEquals(0, metrics.getQuitRate(), 0);
+  }
+
+  /**
+   * The global metrics are registered as an MXBean
+   */
+  @Test
+  public void testMXBean() throws Exception {
+    GameMetrics.global();
+    Object moves = ManagementFactory.getPlatformMBeanServer()
+        .getAttribute(new ObjectName(GameMetrics.OBJECT_NAME), "Moves");
+    assertEquals(GameMetrics.global().getMoves(), moves);
+  }
+
+  /**
+   * With metrics enabled, a console game records its moves, errors and output and dumps them
+   */
+  @Test(timeout = 30000)
+  public void testEnabled() throws Exception {
+    String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+    Process p = new ProcessBuilder(java, "-Dtictactoe.metrics=true",
+        "-cp", System.getProperty("java.class.path"), Main.class.getName()).start();
+    try (OutputStream in = p.getOutputStream()) {
+      in.write("2 2 four 5 5 1 1 q\n".getBytes(StandardCharsets.UTF_8));
+    }
+    String out = read(p.getInputStream());
+    String err = read(p.getErrorStream());
+    assertEquals(0, p.waitFor());
+
+    assertTrue(err.contains("moves 2\n"));
+    assertTrue(err.contains("invalid.numbers 1\n"));
+    assertTrue(err.contains("invalid.moves 1\n"));
+    assertTrue(err.contains("games.quit 1\n"));
+    assertTrue(err.contains("quit.rate 1.000\n"));
+    assertTrue(err.contains("output.chars " + out.length() + "\n"));
+  }
+
+  private static String read(InputStream in) throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    in.transferTo(bytes);
+    return bytes.toString(StandardCharsets.UTF_8);
+  }
+
+  private static void assertNear(long expected, long actual) {
+    assertTrue(actual + " is not near " + expected, Math.abs(actual - expected) <= expected / 32);
+  }
+}
@@ -0,0 +1,205 @@
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import tictactoe.BitboardTicTacToeModel;
+import tictactoe.GameRecord;
+import tictactoe.GameRecordReader;
+import tictactoe.GameRecordWriter;
+import tictactoe.GameSimulator;
+import tictactoe.Player;
+import tictactoe.RandomStrategy;
+import tictactoe.RecordingTicTacToe;
+import tictactoe.SimulationResult;
+import tictactoe.TicTacToe;
+import tictactoe.TicTacToeModel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test cases for the binary game record format, its writer and its reader.
+ */
+public class GameRecordTest {
+
+  /**
+   * Records of every length come back as they were written
+   */
+  @Test
+  public void testRoundTrip() throws IOException {
+    List<GameRecord> records = new ArrayList<>();
+    records.add(new GameRecord(new int[0], GameRecord.UNFINISHED));
+    records.add(new GameRecord(new int[] {4}, GameRecord.UNFINISHED));
+    records.add(new GameRecord(new int[] {0, 3, 1, 4, 2}, GameRecord.X_WINS));
+    records.add(new GameRecord(new int[] {4, 0, 8, 2, 1, 7, 6, 3, 5}, GameRecord.TIE));
+    records.add(new GameRecord(new int[] {0, 6, 3, 4, 1, 2}, GameRecord.O_WINS));
+
+    Path file = Files.createTempFile("tictactoe", ".games");
+    try {
+      try (GameRecordWriter writer = new GameRecordWriter(file)) {
+        for (GameRecord record : records) writer.write(record);
+        assertEquals(5, writer.getRecordCount());
+      }
+      assertEquals(12 + 1 + 2 + 4 + 6 + 4, Files.size(file));
+      assertEquals(records, readAll(file));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  /**
+   * Games recorded by parallel simulations replay to their recorded result, no record crosses
+   * a block, and the file stays within 6 bytes per game plus padding
+   */
+  @Test
+  public void testRecordSimulation() throws IOException {
+    Path file = Files.createTempFile("tictactoe", ".games");
+    try {
+      SimulationResult result;
+      try (GameRecordWriter writer = new GameRecordWriter(file)) {
+        result = new GameSimulator(() -> new RecordingTicTacToe(new BitboardTicTacToeModel(), writer),
+            RandomStrategy::new, RandomStrategy::new).run(100000, new ForkJoinPool(4));
+      }
+
+      long blocks = (Files.size(file) - 12 + GameRecordWriter.BLOCK_SIZE - 1) / GameRecordWriter.BLOCK_SIZE;
+      assertTrue(Files.size(file) <= 12 + 6 * 100000 + 6 * blocks);
+      List<GameRecord> records = readAll(file);
+      assertEquals(100000, records.size());
+
+      long[] tally = new long[4];
+      for (GameRecord record : records) {
+        TicTacToe m = new TicTacToeModel();
+        record.replay(m);
+        assertTrue(m.isGameOver());
+        assertEquals(record.getResult(), GameRecord.resultOf(m));
+        tally[record.getResult()]++;
+      }
+      assertEquals(result.getDraws(), tally[GameRecord.TIE]);
+      assertEquals(result.getXWins(), tally[GameRecord.X_WINS]);
+      assertEquals(result.getOWins(), tally[GameRecord.O_WINS]);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  /**
+   * A quit game is recorded as unfinished when the recording is finished by hand
+   */
+  @Test
+  public void testUnfinishedGame() throws IOException {
+    Path file = Files.createTempFile("tictactoe", ".games");
+    try {
+      try (GameRecordWriter writer = new GameRecordWriter(file)) {
+        RecordingTicTacToe m = new RecordingTicTacToe(new TicTacToeModel(), writer);
+        m.move(1, 1);
+        try {
+          m.move(1, 1);
+          fail("Taken cell");
+        } catch (IllegalArgumentException e) {
+          //Not recorded
+        }
+        m.move(0, 0);
+        m.finish();
+        m.finish();
+      }
+      List<GameRecord> records = readAll(file);
+      assertEquals(1, records.size());
+      assertEquals(new GameRecord(new int[] {4, 0}, GameRecord.UNFINISHED), records.get(0));
+      assertNull(records.get(0).getWinner());
+      assertEquals("[1,1 0,0] unfinished", records.get(0).toString());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  /**
+   * A corrupt record is reported with its offset and reading goes on with the next block
+   */
+  @Test
+  public void testCorruptRecord() throws IOException {
+    Path file = Files.createTempFile("tictactoe", ".games");
+    try {
+      GameRecord game = new GameRecord(new int[] {0, 3, 1, 4, 2}, GameRecord.X_WINS);
+      int perBlock = GameRecordWriter.BLOCK_SIZE / 4;
+      try (GameRecordWriter writer = new GameRecordWriter(file)) {
+        for (int i = 0; i < 2 * perBlock; i++) writer.write(game);
+      }
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+        channel.write(ByteBuffer.wrap(new byte[] {(byte) 0xF0}), 12 + 40);
+
+        GameRecordReader reader = new GameRecordReader(channel);
+        int read = 0;
+        try {
+          while (reader.read() != null) read++;
+          fail("Corrupt record");
+        } catch (IOException e) {
+          assertEquals(12 + 40, reader.getOffset());
+        }
+        assertEquals(10, read);
+        while (reader.read() != null) read++;
+        //The first block held perBlock - 1 games, the rest of it is lost
+        assertEquals(10 + 2 * perBlock - (perBlock - 1), read);
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  /**
+   * Other files are rejected
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNotARecordFile() throws IOException {
+    Path file = Files.createTempFile("tictactoe", ".games");
+    try {
+      Files.write(file, new byte[] {1, 2, 3});
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        new GameRecordReader(channel);
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  /**
+   * Records reject moves and results that do not fit the format
+   */
+  @Test
+  public void testInvalidRecords() {
+    int[][] cells = {{9}, {-1}, new int[10]};
+    for (int[] c : cells) {
+      try {
+        new GameRecord(c, GameRecord.TIE);
+        fail("Invalid cells");
+      } catch (IllegalArgumentException e) {
+        //Expected
+      }
+    }
+    try {
+      new GameRecord(new int[0], 4);
+      fail("Invalid result");
+    } catch (IllegalArgumentException e) {
+      //Expected
+    }
+    assertEquals(Player.O, new GameRecord(new int[0], GameRecord.O_WINS).getWinner());
+  }
+
+  private static List<GameRecord> readAll(Path file) throws IOException {
+    List<GameRecord> records = new ArrayList<>();
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      GameRecordReader reader = new GameRecordReader(channel);
+      for (GameRecord record = reader.read(); record != null; record = reader.read()) records.add(record);
+    }
+    return records;
+  }
+}
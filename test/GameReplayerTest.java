@@ -0,0 +1,123 @@
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import tictactoe.BitboardTicTacToeModel;
+import tictactoe.GameRecord;
+import tictactoe.GameRecordWriter;
+import tictactoe.GameReplayer;
+import tictactoe.GameSimulator;
+import tictactoe.RandomStrategy;
+import tictactoe.RecordingTicTacToe;
+import tictactoe.ReplayReport;
+import tictactoe.SimulationResult;
+import tictactoe.TicTacToeModel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for the parallel replay of archived games.
+ */
+public class GameReplayerTest {
+
+  /**
+   * Every simulated game replays to its recorded result, using one model per chunk
+   */
+  @Test
+  public void testReplaySimulation() throws IOException {
+    Path file = Files.createTempFile("tictactoe", ".games");
+    try {
+      SimulationResult simulated = record(file, 300000);
+      AtomicInteger models = new AtomicInteger();
+      ReplayReport report = new GameReplayer(() -> {
+        models.incrementAndGet();
+        return new BitboardTicTacToeModel();
+      }).replay(file, new ForkJoinPool(4));
+
+      assertTrue(report.toString(), report.isValid());
+      assertEquals(300000, report.getGames());
+      assertEquals(simulated.getXWins(), report.getResultCount(GameRecord.X_WINS));
+      assertEquals(simulated.getOWins(), report.getResultCount(GameRecord.O_WINS));
+      assertEquals(simulated.getDraws(), report.getResultCount(GameRecord.TIE));
+      long moves = 0;
+      for (int n = 0; n <= 9; n++) moves += n * simulated.getGamesOfLength(n);
+      assertEquals(moves, report.getMoves());
+      //Far fewer models than games, and more than one chunk
+      assertTrue(models.get() > 1 && models.get() < 100);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  /**
+   * Wrong results, illegal moves and corrupt records are reported at their offsets, in order,
+   * and the other games are still checked
+   */
+  @Test
+  public void testReportFailures() throws IOException {
+    Path file = Files.createTempFile("tictactoe", ".games");
+    try {
+      GameRecord win = new GameRecord(new int[] {0, 3, 1, 4, 2}, GameRecord.X_WINS);
+      int perBlock = GameRecordWriter.BLOCK_SIZE / 4 - 1;
+      try (GameRecordWriter writer = new GameRecordWriter(file)) {
+        for (int i = 0; i < 3 * perBlock; i++) writer.write(win);
+      }
+      long second = 12 + GameRecordWriter.BLOCK_SIZE;
+      long third = 12 + 2L * GameRecordWriter.BLOCK_SIZE;
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+        //Record 2 claims O won
+        channel.write(ByteBuffer.wrap(new byte[] {(byte) (5 << 2 | GameRecord.O_WINS)}), 12 + 8);
+        //Record 5 of the second block plays cell 0 twice
+        channel.write(ByteBuffer.wrap(new byte[] {0x00}), second + 20 + 1);
+        //Record 1 of the third block has an impossible move count
+        channel.write(ByteBuffer.wrap(new byte[] {(byte) 0xF0}), third + 4);
+      }
+
+      ReplayReport report = new GameReplayer(TicTacToeModel::new).replay(file, new ForkJoinPool(2));
+      assertFalse(report.isValid());
+      assertEquals(3, report.getFailureCount());
+      assertEquals(12 + 8, report.getFailures().get(0).getOffset());
+      assertEquals("Recorded O wins but replayed X wins", report.getFailures().get(0).getMessage());
+      assertEquals(second + 20, report.getFailures().get(1).getOffset());
+      assertEquals("Move 2 is not valid: Position is taken", report.getFailures().get(1).getMessage());
+      assertEquals(third + 4, report.getFailures().get(2).getOffset());
+      //The rest of the third block is skipped, its first game and the corrupt one are counted
+      assertEquals(2 * perBlock - 2 + 1, report.getResultCount(GameRecord.X_WINS));
+      assertEquals(2 * perBlock + 2, report.getGames());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  /**
+   * An empty archive is valid
+   */
+  @Test
+  public void testEmptyFile() throws IOException {
+    Path file = Files.createTempFile("tictactoe", ".games");
+    try {
+      new GameRecordWriter(file).close();
+      ReplayReport report = new GameReplayer(TicTacToeModel::new).replay(file);
+      assertTrue(report.isValid());
+      assertEquals(0, report.getGames());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  private static SimulationResult record(Path file, int games) throws IOException {
+    try (GameRecordWriter writer = new GameRecordWriter(file)) {
+      return new GameSimulator(() -> new RecordingTicTacToe(new BitboardTicTacToeModel(), writer),
+          RandomStrategy::new, RandomStrategy::new).run(games, new ForkJoinPool(4));
+    }
+  }
+}
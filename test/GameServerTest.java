@@ -0,0 +1,148 @@
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import tictactoe.GameServer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for the multi-session game server, played over loopback.
+ */
+public class GameServerTest {
+
+  /**
+   * Two remote players are matched and play a game to the end
+   */
+  @Test(timeout = 10000)
+  public void testMatchAndPlay() throws Exception {
+    try (GameServer server = new GameServer(0, 4)) {
+      server.start();
+      try (Socket x = connect(server); Socket o = connect(server)) {
+        BufferedReader xIn = reader(x);
+        assertEquals("Waiting for an opponent", xIn.readLine());
+        BufferedReader oIn = reader(o);
+
+        //Each player sends all of its moves up front, the server reads one line per turn
+        send(x, "1 1\n1 2\n1 3\n");
+        send(o, "2 1\n2 2\n");
+        CompletableFuture<String> xLog = CompletableFuture.supplyAsync(() -> readAll(xIn));
+        String oLog = readAll(oIn);
+
+        assertTrue(oLog.startsWith("You are O\n"));
+        assertTrue(xLog.get().startsWith("You are X\n"));
+        assertTrue(oLog.endsWith(" X | X | X\n"
+            + "-----------\n"
+            + " O | O |  \n"
+            + "-----------\n"
+            + "   |   |  \n"
+            + "Game is over! X wins.\n"));
+        assertEquals(oLog.substring(oLog.indexOf('\n')), xLog.get().substring(xLog.get().indexOf('\n')));
+      }
+    }
+  }
+
+  /**
+   * A player can not move for the opponent by sending two moves on one line
+   */
+  @Test(timeout = 10000)
+  public void testOnlyOwnMoves() throws Exception {
+    try (GameServer server = new GameServer(0, 4)) {
+      server.start();
+      try (Socket x = connect(server); Socket o = connect(server)) {
+        BufferedReader xIn = reader(x);
+        assertEquals("Waiting for an opponent", xIn.readLine());
+        BufferedReader oIn = reader(o);
+
+        //The 3 3 after X's first move is dropped, O's own input decides its move
+        send(x, "1 1 3 3\n1 2\n1 3\n");
+        send(o, "2 1\n2 2\n");
+        CompletableFuture<String> xLog = CompletableFuture.supplyAsync(() -> readAll(xIn));
+        String oLog = readAll(oIn);
+
+        assertTrue(oLog.contains(" X |   |  \n"
+            + "-----------\n"
+            + " O |   |  \n"
+            + "-----------\n"
+            + "   |   |  \n"));
+        assertTrue(oLog.endsWith(" X | X | X\n"
+            + "-----------\n"
+            + " O | O |  \n"
+            + "-----------\n"
+            + "   |   |  \n"
+            + "Game is over! X wins.\n"));
+        assertTrue(xLog.get().endsWith("Game is over! X wins.\n"));
+      }
+    }
+  }
+
+  /**
+   * A waiting client that disconnected is not matched, the next client waits instead
+   */
+  @Test(timeout = 10000)
+  public void testDeadWaitingClient() throws Exception {
+    try (GameServer server = new GameServer(0, 1)) {
+      server.start();
+      try (Socket gone = connect(server)) {
+        assertEquals("Waiting for an opponent", reader(gone).readLine());
+      }
+      try (Socket x = connect(server)) {
+        assertEquals("Waiting for an opponent", reader(x).readLine());
+        //The slot of the dead client was freed, so a second player fits in one session
+        try (Socket o = connect(server)) {
+          assertEquals("You are O", reader(o).readLine());
+        }
+      }
+      assertEquals(0, server.getAcceptFailures());
+    }
+  }
+
+  /**
+   * Clients beyond the session cap are turned away
+   */
+  @Test(timeout = 10000)
+  public void testSessionCap() throws Exception {
+    try (GameServer server = new GameServer(0, 1)) {
+      server.start();
+      try (Socket a = connect(server); Socket b = connect(server)) {
+        assertEquals("Waiting for an opponent", reader(a).readLine());
+        assertEquals("You are O", reader(b).readLine());
+        try (Socket c = connect(server)) {
+          assertEquals("Server is full", reader(c).readLine());
+        }
+      }
+    }
+  }
+
+  private static Socket connect(GameServer server) throws IOException {
+    return new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+  }
+
+  private static BufferedReader reader(Socket s) throws IOException {
+    return new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+  }
+
+  private static void send(Socket s, String text) throws IOException {
+    OutputStream out = s.getOutputStream();
+    out.write(text.getBytes(StandardCharsets.UTF_8));
+    out.flush();
+  }
+
+  private static String readAll(BufferedReader in) {
+    StringBuilder sb = new StringBuilder();
+    try {
+      for (String line = in.readLine(); line != null; line = in.readLine()) sb.append(line).append('\n');
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+    return sb.toString();
+  }
+}
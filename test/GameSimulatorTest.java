@@ -0,0 +1,106 @@
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import tictactoe.BitboardTicTacToeModel;
+import tictactoe.GameSimulator;
+import tictactoe.Move;
+import tictactoe.RandomStrategy;
+import tictactoe.ScriptedStrategy;
+import tictactoe.SimulationResult;
+import tictactoe.SolverStrategy;
+import tictactoe.TicTacToeModel;
+import tictactoe.TicTacToeSolver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test cases for the headless batch simulator.
+ */
+public class GameSimulatorTest {
+
+  private final TicTacToeSolver solver = new TicTacToeSolver();
+
+  /**
+   * Perfect play against perfect play is always a tie
+   */
+  @Test
+  public void testSolverAgainstSolver() {
+    SimulationResult result = new GameSimulator(BitboardTicTacToeModel::new,
+        () -> new SolverStrategy(solver), () -> new SolverStrategy(solver)).run(5000);
+    assertEquals(5000, result.getGames());
+    assertEquals(5000, result.getDraws());
+    assertEquals(5000, result.getGamesOfLength(9));
+  }
+
+  /**
+   * A random player never beats the solver, and every game is counted once
+   */
+  @Test
+  public void testRandomAgainstSolver() {
+    SimulationResult result = new GameSimulator(TicTacToeModel::new,
+        RandomStrategy::new, () -> new SolverStrategy(solver)).run(20000, new ForkJoinPool(4));
+    assertEquals(0, result.getXWins());
+    assertTrue(result.getOWins() > 0);
+    assertEquals(20000, result.getOWins() + result.getDraws());
+
+    long counted = 0;
+    for (long games : result.getLengthHistogram()) counted += games;
+    assertEquals(20000, counted);
+    assertEquals(0, result.getGamesOfLength(4));
+  }
+
+  /**
+   * Scripted players always play the same game
+   */
+  @Test
+  public void testScripted() {
+    Move[] script = {new Move(0, 0), new Move(0, 1), new Move(0, 2), new Move(1, 0),
+        new Move(1, 1), new Move(1, 2), new Move(2, 0), new Move(2, 1), new Move(2, 2)};
+    SimulationResult result = new GameSimulator(TicTacToeModel::new,
+        () -> new ScriptedStrategy(script), () -> new ScriptedStrategy(script)).run(3);
+    assertEquals(3, result.getXWins());
+    assertEquals(3, result.getGamesOfLength(7));
+  }
+
+  /**
+   * Games are reset and reused, so only a few are ever created
+   */
+  @Test
+  public void testGamesAreReused() {
+    AtomicInteger created = new AtomicInteger();
+    SimulationResult result = new GameSimulator(() -> {
+      created.incrementAndGet();
+      return new BitboardTicTacToeModel();
+    }, RandomStrategy::new, RandomStrategy::new).run(100000, new ForkJoinPool(4));
+    assertEquals(100000, result.getGames());
+    assertTrue(created.get() <= 4);
+  }
+
+  /**
+   * A game that fails still goes back to the pool
+   */
+  @Test
+  public void testFailedGameIsReused() {
+    AtomicInteger created = new AtomicInteger();
+    AtomicBoolean quit = new AtomicBoolean(true);
+    GameSimulator simulator = new GameSimulator(() -> {
+      created.incrementAndGet();
+      return new BitboardTicTacToeModel();
+    }, () -> m -> quit.getAndSet(false) ? null : new RandomStrategy().chooseMove(m),
+        RandomStrategy::new);
+    ForkJoinPool pool = new ForkJoinPool(1);
+    try {
+      simulator.run(1, pool);
+      fail();
+    } catch (IllegalStateException e) {
+      //The first game is quit
+    }
+    assertEquals(10, simulator.run(10, pool).getGames());
+    assertEquals(1, created.get());
+  }
+}
@@ -0,0 +1,92 @@
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import tictactoe.GameTreeEnumerator;
+import tictactoe.GameTreeStatistics;
+import tictactoe.MnkTicTacToeModel;
+import tictactoe.Player;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test cases for the game tree enumeration.
+ */
+public class GameTreeEnumeratorTest {
+
+  /**
+   * The classic board has 255,168 games and 5,478 positions, whatever the split depth
+   */
+  @Test
+  public void testClassicBoard() {
+    for (int depth = 0; depth <= 9; depth++) {
+      GameTreeStatistics stats = new GameTreeEnumerator(3, 3, 3).enumerate(depth, new ForkJoinPool(4));
+      assertEquals(255168, stats.getGames());
+      assertEquals(131184, stats.getXWins());
+      assertEquals(77904, stats.getOWins());
+      assertEquals(46080, stats.getDraws());
+      assertEquals(5478, stats.getPositions());
+      assertEquals(1440, stats.getGamesOfLength(5));
+      assertEquals(46080 + 81792, stats.getGamesOfLength(9));
+      assertEquals(0, stats.getGamesOfLength(4));
+    }
+  }
+
+  /**
+   * Other board sizes give the same counts as playing every game on the model
+   */
+  @Test
+  public void testAgainstModel() {
+    int[][] boards = {{2, 3, 2}, {3, 3, 2}, {2, 4, 3}, {3, 2, 3}, {1, 4, 4}};
+    for (int[] b : boards) {
+      long[] expected = new long[3];
+      Set<String> positions = new HashSet<>();
+      walk(b[0], b[1], b[2], new int[16], 0, expected, positions);
+      GameTreeStatistics stats = new GameTreeEnumerator(b[0], b[1], b[2]).enumerate(2);
+      assertEquals(expected[0], stats.getXWins());
+      assertEquals(expected[1], stats.getOWins());
+      assertEquals(expected[2], stats.getDraws());
+      assertEquals(positions.size(), stats.getPositions());
+    }
+  }
+
+  /**
+   * The board has to fit in 16 cells
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testBoardTooLarge() {
+    new GameTreeEnumerator(4, 5, 4);
+  }
+
+  /**
+   * The split depth can not be negative
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeDepth() {
+    new GameTreeEnumerator(3, 3, 3).enumerate(-1);
+  }
+
+  /**
+   * Play every game on a new model per position, counting the outcomes and collecting the
+   * boards
+   */
+  private static void walk(int rows, int columns, int k, int[] moves, int n, long[] counts,
+                           Set<String> positions) {
+    MnkTicTacToeModel m = new MnkTicTacToeModel(rows, columns, k);
+    for (int i = 0; i < n; i++) m.move(moves[i] / columns, moves[i] % columns);
+    positions.add(Arrays.deepToString(m.getBoard()));
+    if (m.isGameOver()) {
+      counts[m.getWinner() == Player.X ? 0 : m.getWinner() == Player.O ? 1 : 2]++;
+      return;
+    }
+    for (int cell = 0; cell < rows * columns; cell++) {
+      if (m.getMarkAt(cell / columns, cell % columns) == null) {
+        moves[n] = cell;
+        walk(rows, columns, k, moves, n + 1, counts, positions);
+      }
+    }
+  }
+}
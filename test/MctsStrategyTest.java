@@ -0,0 +1,117 @@
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import tictactoe.GameSimulator;
+import tictactoe.MctsStrategy;
+import tictactoe.MnkTicTacToeModel;
+import tictactoe.Move;
+import tictactoe.RandomStrategy;
+import tictactoe.SimulationResult;
+import tictactoe.TicTacToe;
+import tictactoe.TicTacToeModel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for the Monte Carlo tree search strategy.
+ */
+public class MctsStrategyTest {
+
+  /**
+   * The search takes a win in one move
+   */
+  @Test
+  public void testTakesWin() {
+    TicTacToe m = play(new TicTacToeModel(), 0, 0, 1, 0, 0, 1, 1, 1);
+    Move move = new MctsStrategy(5000, 0, 1, 42).chooseMove(m);
+    assertEquals(new Move(0, 2), move);
+  }
+
+  /**
+   * The search blocks a win of the opponent
+   */
+  @Test
+  public void testBlocksWin() {
+    TicTacToe m = play(new TicTacToeModel(), 0, 0, 1, 1, 0, 1);
+    Move move = new MctsStrategy(5000, 0, 4).chooseMove(m);
+    assertEquals(new Move(0, 2), move);
+  }
+
+  /**
+   * The budget of playouts is split between the threads and fully used
+   */
+  @Test
+  public void testPlayoutBudget() {
+    MctsStrategy strategy = new MctsStrategy(10001, 0, 3);
+    strategy.chooseMove(new MnkTicTacToeModel(7, 7, 4));
+    assertEquals(10001, strategy.getLastPlayouts());
+  }
+
+  /**
+   * A time budget stops the search on a large board
+   */
+  @Test(timeout = 5000)
+  public void testTimeBudget() {
+    TicTacToe m = new MnkTicTacToeModel(15, 15, 5);
+    MctsStrategy strategy = new MctsStrategy(0, 100, 2);
+    Move move = strategy.chooseMove(m);
+    assertNull(m.getMarkAt(move.getRow(), move.getColumn()));
+    assertTrue(strategy.getLastPlayouts() > 0);
+  }
+
+  /**
+   * A deadline earlier than the time budget stops the search
+   */
+  @Test(timeout = 5000)
+  public void testDeadline() {
+    TicTacToe m = new MnkTicTacToeModel(15, 15, 5);
+    MctsStrategy strategy = new MctsStrategy(0, 60_000, 2);
+    Move move = strategy.chooseMove(m, System.nanoTime() + 100_000_000);
+    assertNull(m.getMarkAt(move.getRow(), move.getColumn()));
+    assertTrue(strategy.getLastPlayouts() > 0);
+  }
+
+  /**
+   * The search never loses a 3x3 game to a random player
+   */
+  @Test
+  public void testAgainstRandom() {
+    SimulationResult result = new GameSimulator(TicTacToeModel::new,
+        () -> new MctsStrategy(3000, 0, 1), RandomStrategy::new).run(50, new ForkJoinPool(2));
+    assertEquals(0, result.getOWins());
+    assertTrue(result.getXWins() > 0);
+  }
+
+  /**
+   * The search rejects a game that is over
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testGameOver() {
+    TicTacToe m = play(new TicTacToeModel(), 0, 0, 1, 0, 0, 1, 1, 1, 0, 2);
+    new MctsStrategy(100, 0, 1).chooseMove(m);
+  }
+
+  /**
+   * The search needs a budget
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoBudget() {
+    new MctsStrategy(0, 0, 1);
+  }
+
+  /**
+   * The search needs at least one thread
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoThreads() {
+    new MctsStrategy(100, 0, 0);
+  }
+
+  private static TicTacToe play(TicTacToe m, int... cells) {
+    for (int i = 0; i < cells.length; i += 2) m.move(cells[i], cells[i + 1]);
+    return m;
+  }
+}
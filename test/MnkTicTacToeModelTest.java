@@ -0,0 +1,123 @@
+import org.junit.Test;
+
+import tictactoe.MnkTicTacToeModel;
+import tictactoe.Player;
+import tictactoe.ResettableTicTacToe;
+import tictactoe.TicTacToe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for the generalized m,n,k tic-tac-toe model.
+ */
+public class MnkTicTacToeModelTest {
+
+  /**
+   * A 3x3 board with 3 in a row plays like the classic game
+   */
+  @Test
+  public void testClassicBoard() {
+    TicTacToe m = new MnkTicTacToeModel(3, 3, 3);
+    m.move(0, 0);
+    m.move(2, 0);
+    m.move(1, 0);
+    m.move(1, 1);
+    m.move(0, 1);
+    m.move(0, 2);
+    assertTrue(m.isGameOver());
+    assertEquals(Player.O, m.getWinner());
+    assertEquals(" X | X | O\n"
+            + "-----------\n"
+            + " X | O |  \n"
+            + "-----------\n"
+            + " O |   |  ", m.toString());
+  }
+
+  /**
+   * Five in a row on a 15x15 board, with the last mark in the middle of the line
+   */
+  @Test
+  public void testGomokuWinInTheMiddle() {
+    TicTacToe m = new MnkTicTacToeModel(15, 15, 5);
+    assertEquals(15, m.getRows());
+    assertEquals(15, m.getColumns());
+    assertEquals(5, m.getWinLength());
+    int[] columns = {3, 4, 6, 7};
+    for (int c : columns) {
+      m.move(7, c);
+      m.move(0, c);
+    }
+    assertNull(m.getWinner());
+    m.move(7, 5);
+    assertEquals(Player.X, m.getWinner());
+  }
+
+  /**
+   * Four in a row is not enough when five are needed, on the anti diagonal
+   */
+  @Test
+  public void testAntiDiagonal() {
+    TicTacToe m = new MnkTicTacToeModel(6, 7, 5);
+    for (int i = 0; i < 4; i++) {
+      m.move(i, 6 - i);
+      m.move(5, i);
+    }
+    assertFalse(m.isGameOver());
+    m.move(4, 2);
+    assertEquals(Player.X, m.getWinner());
+  }
+
+  /**
+   * The board bounds follow the configured size
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testOutOfBoundary() {
+    TicTacToe m = new MnkTicTacToeModel(4, 6, 3);
+    m.move(0, 5);
+    m.move(4, 0);
+  }
+
+  /**
+   * The win length must fit on the board
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidWinLength() {
+    new MnkTicTacToeModel(3, 3, 4);
+  }
+
+  /**
+   * Two in a row are enough on a 2x2 board
+   */
+  @Test
+  public void testTwoInARow() {
+    TicTacToe m = new MnkTicTacToeModel(2, 2, 2);
+    m.move(0, 0);
+    m.move(1, 1);
+    assertFalse(m.isGameOver());
+    m.move(0, 1);
+    assertEquals(Player.X, m.getWinner());
+  }
+
+  /**
+   * Test a reset game starts over with an empty board and X to move
+   */
+  @Test
+  public void testReset() {
+    ResettableTicTacToe m = new MnkTicTacToeModel(4, 6, 3);
+    m.move(0, 0);
+    m.move(1, 0);
+    m.move(0, 1);
+    m.move(2, 0);
+    m.move(0, 2);
+    assertEquals(Player.X, m.getWinner());
+    m.reset();
+    assertFalse(m.isGameOver());
+    assertNull(m.getMarkAt(0, 0));
+    assertEquals(Player.X, m.getTurn());
+    m.move(3, 5);
+    assertEquals(Player.X, m.getMarkAt(3, 5));
+  }
+}
@@ -0,0 +1,70 @@
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import tictactoe.BitboardTicTacToeModel;
+import tictactoe.ModelPool;
+import tictactoe.Player;
+import tictactoe.ResettableTicTacToe;
+import tictactoe.TicTacToeModel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Test cases for the per-thread pool of reusable games.
+ */
+public class ModelPoolTest {
+
+  /**
+   * A returned game is reset and borrowed again by the same thread
+   */
+  @Test
+  public void testReuse() {
+    ModelPool<ResettableTicTacToe> pool = new ModelPool<>(BitboardTicTacToeModel::new, 2);
+    ResettableTicTacToe m = pool.borrow();
+    m.move(1, 1);
+    pool.release(m);
+
+    ResettableTicTacToe again = pool.borrow();
+    assertSame(m, again);
+    assertNull(again.getMarkAt(1, 1));
+    assertEquals(Player.X, again.getTurn());
+    assertEquals(1, pool.getCreated());
+  }
+
+  /**
+   * Each thread has its own games, and keeps at most the capacity
+   */
+  @Test
+  public void testPerThreadCapacity() throws Exception {
+    ModelPool<ResettableTicTacToe> pool = new ModelPool<>(TicTacToeModel::new, 2);
+    ResettableTicTacToe a = pool.borrow();
+    ResettableTicTacToe b = pool.borrow();
+    ResettableTicTacToe c = pool.borrow();
+    pool.release(a);
+    pool.release(b);
+    pool.release(c);
+    assertEquals(3, pool.getCreated());
+
+    ResettableTicTacToe other = CompletableFuture.supplyAsync(pool::borrow).get();
+    assertNotSame(a, other);
+    assertNotSame(b, other);
+    assertEquals(4, pool.getCreated());
+
+    assertSame(b, pool.borrow());
+    assertSame(a, pool.borrow());
+    pool.borrow();
+    assertEquals(5, pool.getCreated());
+  }
+
+  /**
+   * The pool rejects invalid arguments
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidCapacity() {
+    new ModelPool<>(TicTacToeModel::new, -1);
+  }
+}
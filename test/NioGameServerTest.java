@@ -0,0 +1,161 @@
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import tictactoe.NioGameServer;
+import tictactoe.TicTacToeConsoleController;
+import tictactoe.TicTacToeModel;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test cases for the event-loop game server, checked against the console controller.
+ */
+public class NioGameServerTest {
+
+  private NioGameServer server;
+
+  @Before
+  public void setUp() throws IOException {
+    this.server = new NioGameServer(0, 2);
+    this.server.start();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    this.server.close();
+  }
+
+  /**
+   * A full game prints the same as the console controller
+   */
+  @Test(timeout = 10000)
+  public void testTieGame() throws Exception {
+    assertSameAsConsole("2 2 1 1 3 3 1 2 1 3 2 3 2 1 3 1 3 2");
+  }
+
+  /**
+   * Invalid numbers, invalid moves and quitting print the same as the console controller
+   */
+  @Test(timeout = 10000)
+  public void testErrorsAndQuit() throws Exception {
+    assertSameAsConsole("!#$ 2 q");
+    assertSameAsConsole("2 2 2 2 0 4 -1 +3 2147483648 1 1 q");
+    assertSameAsConsole("1 1\n2 2\n1 2\n3 3\n1 3\n");
+    assertSameAsConsole("1 1 2 2 1 2 3 3 1 3");
+  }
+
+  /**
+   * Grouped numbers are parsed like the console controller parses them
+   */
+  @Test(timeout = 10000)
+  public void testGroupedNumbers() throws Exception {
+    char sep = new DecimalFormatSymbols().getGroupingSeparator();
+    //The protocol is ASCII, a locale with another separator has no grouped numbers to send
+    if (sep >= 0x80) return;
+    assertSameAsConsole("2 2 1" + sep + "0 2 2 1" + sep + "000 3 " + sep + "1 q");
+  }
+
+  /**
+   * A token too long to parse is not a valid number, and the game goes on after it
+   */
+  @Test(timeout = 10000)
+  public void testLongToken() throws Exception {
+    assertSameAsConsole("2 2 " + "x".repeat(300) + " 1 1 " + "9".repeat(257) + "\n3 3 q");
+    assertSameAsConsole("2 2 " + "7".repeat(1000));
+  }
+
+  /**
+   * Input split into single bytes is parsed like input sent at once
+   */
+  @Test(timeout = 10000)
+  public void testFragmentedInput() throws Exception {
+    String script = "22 1 1 x 3 3 12 3 q";
+    try (Socket s = connect()) {
+      OutputStream out = s.getOutputStream();
+      for (byte b : script.getBytes(StandardCharsets.US_ASCII)) {
+        out.write(b);
+        out.flush();
+      }
+      s.shutdownOutput();
+      assertEquals(console(script), readAll(s.getInputStream()));
+    }
+  }
+
+  /**
+   * Many connections are served at the same time by the event loops
+   */
+  @Test(timeout = 20000)
+  public void testManySessions() throws Exception {
+    String script = "2 2 1 1 3 3 1 2 1 3 2 3 2 1 3 1 3 2";
+    String expected = console(script);
+    List<CompletableFuture<String>> games = new ArrayList<>();
+    for (int i = 0; i < 50; i++) games.add(CompletableFuture.supplyAsync(() -> {
+      try {
+        return play(script);
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    }));
+    for (CompletableFuture<String> game : games) assertEquals(expected, game.get());
+  }
+
+  /**
+   * Closing the server ends the accept loop instead of counting it as a failure
+   */
+  @Test(timeout = 10000)
+  public void testCloseStopsAcceptor() throws Exception {
+    assertSameAsConsole("2 2 q");
+    this.server.close();
+    this.server.join();
+    assertEquals(0, this.server.getAcceptFailures());
+  }
+
+  private void assertSameAsConsole(String script) throws IOException {
+    assertEquals(console(script), play(script));
+  }
+
+  private String play(String script) throws IOException {
+    try (Socket s = connect()) {
+      OutputStream out = s.getOutputStream();
+      out.write(script.getBytes(StandardCharsets.US_ASCII));
+      out.flush();
+      s.shutdownOutput();
+      return readAll(s.getInputStream());
+    }
+  }
+
+  private static String console(String script) {
+    StringBuilder gameLog = new StringBuilder();
+    try {
+      new TicTacToeConsoleController(new StringReader(script), gameLog).playGame(new TicTacToeModel());
+    } catch (IllegalStateException e) {
+      //The script ended before the game, the server just closes the connection
+    }
+    return gameLog.toString();
+  }
+
+  private Socket connect() throws IOException {
+    return new Socket(InetAddress.getLoopbackAddress(), this.server.getPort());
+  }
+
+  private static String readAll(InputStream in) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    byte[] buffer = new byte[1024];
+    for (int n = in.read(buffer); n >= 0; n = in.read(buffer)) bytes.write(buffer, 0, n);
+    return bytes.toString(StandardCharsets.US_ASCII.name());
+  }
+}
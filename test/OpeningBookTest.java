@@ -0,0 +1,88 @@
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import tictactoe.BitboardTicTacToeModel;
+import tictactoe.Move;
+import tictactoe.OpeningBook;
+import tictactoe.OpeningBookGenerator;
+import tictactoe.Solution;
+import tictactoe.TicTacToe;
+import tictactoe.TicTacToeModel;
+import tictactoe.TicTacToeSolver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Test cases for the memory-mapped opening book, checked against the solver.
+ */
+public class OpeningBookTest {
+
+  private final TicTacToeSolver solver = new TicTacToeSolver();
+
+  /**
+   * Every reachable position has the solver value, and playing the book against itself
+   * always ends in a tie
+   */
+  @Test
+  public void testBookMatchesSolver() throws IOException {
+    Path file = Files.createTempFile("tictactoe", ".book");
+    try {
+      OpeningBookGenerator.generate(file);
+      OpeningBook book = OpeningBook.load(file);
+      checkAll(book, new int[0]);
+
+      TicTacToe m = new TicTacToeModel();
+      while (!m.isGameOver()) {
+        Move move = book.bestMove(m);
+        m.move(move.getRow(), move.getColumn());
+      }
+      assertNull(m.getWinner());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  /**
+   * A file that is not a book is rejected
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidFile() throws IOException {
+    Path file = Files.createTempFile("tictactoe", ".book");
+    try {
+      Files.write(file, new byte[] {1, 2, 3});
+      OpeningBook.load(file);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  private void checkAll(OpeningBook book, int[] path) {
+    TicTacToe m = play(path);
+    if (m.isGameOver()) return;
+
+    assertEquals(solver.evaluate(m), book.evaluate(m));
+    Move move = book.bestMove(m);
+    TicTacToe next = play(path);
+    next.move(move.getRow(), move.getColumn());
+    int after = next.isGameOver() ? (next.getWinner() == null ? 0 : Solution.LOSS) : solver.evaluate(next);
+    assertEquals(book.evaluate(m), -after);
+
+    for (Move child : Move.legalMoves(m)) {
+      int[] longer = Arrays.copyOf(path, path.length + 2);
+      longer[path.length] = child.getRow();
+      longer[path.length + 1] = child.getColumn();
+      checkAll(book, longer);
+    }
+  }
+
+  private static TicTacToe play(int[] path) {
+    TicTacToe m = new BitboardTicTacToeModel();
+    for (int i = 0; i < path.length; i += 2) m.move(path[i], path[i + 1]);
+    return m;
+  }
+}
@@ -0,0 +1,148 @@
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import tictactoe.BitboardTicTacToeModel;
+import tictactoe.BoardCanonicalizer;
+import tictactoe.ConcurrentTicTacToeModel;
+import tictactoe.MnkTicTacToeModel;
+import tictactoe.Player;
+import tictactoe.ResettableTicTacToe;
+import tictactoe.TicTacToe;
+import tictactoe.TicTacToeModel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * Test cases for the Zobrist keys of the models and the canonical keys of positions.
+ */
+public class PositionKeyTest {
+
+  /**
+   * Every model keeps the same key as the one computed from its marks, through random games
+   */
+  @Test
+  public void testZobristKeysAgree() {
+    Random random = new Random(7);
+    for (int game = 0; game < 500; game++) {
+      ResettableTicTacToe[] models = {new TicTacToeModel(), new BitboardTicTacToeModel(),
+          new MnkTicTacToeModel(3, 3, 3), new ConcurrentTicTacToeModel()};
+      assertEquals(0, models[0].getZobristKey());
+      while (!models[0].isGameOver()) {
+        int r = random.nextInt(3);
+        int c = random.nextInt(3);
+        if (models[0].getMarkAt(r, c) != null) continue;
+        for (ResettableTicTacToe m : models) m.move(r, c);
+        long expected = fromMarks(models[0]);
+        for (ResettableTicTacToe m : models) assertEquals(expected, m.getZobristKey());
+      }
+      for (ResettableTicTacToe m : models) {
+        m.reset();
+        assertEquals(0, m.getZobristKey());
+      }
+    }
+  }
+
+  /**
+   * The same board reached in another order has the same key, and a different board another one
+   */
+  @Test
+  public void testZobristTranspositions() {
+    TicTacToe a = play(new MnkTicTacToeModel(5, 5, 4), 0, 0, 1, 1, 2, 2, 3, 3);
+    TicTacToe b = play(new MnkTicTacToeModel(5, 5, 4), 2, 2, 3, 3, 0, 0, 1, 1);
+    TicTacToe c = play(new MnkTicTacToeModel(5, 5, 4), 0, 0, 1, 1, 3, 3, 2, 2);
+    assertEquals(a.getZobristKey(), b.getZobristKey());
+    assertNotEquals(a.getZobristKey(), c.getZobristKey());
+  }
+
+  /**
+   * Undo restores the key of the previous board
+   */
+  @Test
+  public void testZobristUndo() {
+    BitboardTicTacToeModel m = new BitboardTicTacToeModel();
+    m.move(1, 1);
+    long key = m.getZobristKey();
+    m.move(0, 2);
+    m.undo();
+    assertEquals(key, m.getZobristKey());
+    m.redo();
+    assertEquals(fromMarks(m), m.getZobristKey());
+  }
+
+  /**
+   * Symmetric boards share a key, and the 3x3 game has 765 positions up to symmetry
+   */
+  @Test
+  public void testCanonicalKeys() {
+    TicTacToe corner = play(new TicTacToeModel(), 0, 0, 1, 1);
+    for (int[] cell : new int[][] {{0, 2}, {2, 0}, {2, 2}}) {
+      TicTacToe image = play(new BitboardTicTacToeModel(), cell[0], cell[1], 1, 1);
+      assertEquals(BoardCanonicalizer.canonicalKey(corner), BoardCanonicalizer.canonicalKey(image));
+    }
+    TicTacToe edge = play(new TicTacToeModel(), 0, 1, 1, 1);
+    assertNotEquals(BoardCanonicalizer.canonicalKey(corner), BoardCanonicalizer.canonicalKey(edge));
+
+    Set<Integer> keys = new HashSet<>();
+    collect(new BitboardTicTacToeModel(), keys);
+    assertEquals(765, keys.size());
+  }
+
+  /**
+   * Only 3x3 boards have a canonical key
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testCanonicalKeyOtherBoard() {
+    BoardCanonicalizer.canonicalKey(new MnkTicTacToeModel(4, 4, 3));
+  }
+
+  private static void collect(BitboardTicTacToeModel m, Set<Integer> keys) {
+    keys.add(BoardCanonicalizer.canonicalKey(m));
+    if (m.isGameOver()) return;
+    for (int cell = 0; cell < 9; cell++) {
+      if (m.getMarkAt(cell / 3, cell % 3) == null) {
+        m.move(cell / 3, cell % 3);
+        collect(m, keys);
+        m.undo();
+      }
+    }
+  }
+
+  private static long fromMarks(TicTacToe m) {
+    //The default method of the interface computes the key from the marks
+    TicTacToe view = new TicTacToe() {
+      public void move(int r, int c) {
+        throw new UnsupportedOperationException();
+      }
+
+      public Player getTurn() {
+        return m.getTurn();
+      }
+
+      public boolean isGameOver() {
+        return m.isGameOver();
+      }
+
+      public Player getWinner() {
+        return m.getWinner();
+      }
+
+      public Player[][] getBoard() {
+        return m.getBoard();
+      }
+
+      public Player getMarkAt(int r, int c) {
+        return m.getMarkAt(r, c);
+      }
+    };
+    return view.getZobristKey();
+  }
+
+  private static TicTacToe play(TicTacToe m, int... cells) {
+    for (int i = 0; i < cells.length; i += 2) m.move(cells[i], cells[i + 1]);
+    return m;
+  }
+}
@@ -0,0 +1,163 @@
+import org.junit.Test;
+
+import java.io.StringReader;
+
+import tictactoe.HumanStrategy;
+import tictactoe.MctsStrategy;
+import tictactoe.Move;
+import tictactoe.MoveStrategy;
+import tictactoe.Player;
+import tictactoe.ScriptedStrategy;
+import tictactoe.SolverStrategy;
+import tictactoe.StrategyGameController;
+import tictactoe.TicTacToeConsoleController;
+import tictactoe.TicTacToeModel;
+import tictactoe.TicTacToeSolver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test cases for the controller that plays two move strategies against each other.
+ */
+public class StrategyGameControllerTest {
+
+  private static final String[] SCENARIOS = {
+      "2 2 q",
+      "!#$ 2 q",
+      "2 2 1 1 3 3 1 2 1 3 2 3 2 1 3 1 3 2",
+      "1 1 1 2 1 3 2 1 2 3 1 3 3 1 2 2 3 2 3 3",
+      "2 2 2 2 1 1 1 1 3 3 3 3 1 2 1 2 1 3 1 3 2 3 2 3 2 1 2 1 3 1 3 1 3 2 3 2",
+      "2 2 q 2 ",
+      "2 2 1 Q ",
+      "2 2 1 A B C D E F q",
+      "2 2 4 5 8 8 -1 -1 3 8 3 4 4 5 6 6 q",
+      "2 2 1 1 3 3 a 1 b c 1a -100 -4 q",
+      "+2 2 1,000 2147483648 1,00 -0 -1 00 q"
+  };
+
+  /**
+   * A person on both sides sees exactly what the console controller writes
+   */
+  @Test
+  public void testHumanConformsToConsole() {
+    for (String scenario : SCENARIOS) {
+      StringBuilder expected = new StringBuilder();
+      new TicTacToeConsoleController(new StringReader(scenario), expected).playGame(new TicTacToeModel());
+
+      StringBuilder actual = new StringBuilder();
+      HumanStrategy human = new HumanStrategy(new StringReader(scenario), actual);
+      StrategyGameController c = new StrategyGameController(human, human, actual, 0);
+      c.playGame(new TicTacToeModel());
+      assertEquals(scenario, expected.toString(), actual.toString());
+    }
+  }
+
+  /**
+   * Input that ends before the game fails like the console controller
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testHumanEndOfInput() {
+    StringBuilder out = new StringBuilder();
+    HumanStrategy human = new HumanStrategy(new StringReader("1 1 2 2 2 3 3"), out);
+    new StrategyGameController(human, human, out, 0).playGame(new TicTacToeModel());
+  }
+
+  /**
+   * Every move is timed, and the times are split by player
+   */
+  @Test
+  public void testTimings() {
+    TicTacToeSolver solver = new TicTacToeSolver();
+    StrategyGameController c = new StrategyGameController(new SolverStrategy(solver),
+        new SolverStrategy(solver), new StringBuilder(), 0);
+    TicTacToeModel m = new TicTacToeModel();
+    c.playGame(m);
+    assertTrue(m.isGameOver());
+    assertEquals(null, m.getWinner());
+
+    long[] nanos = c.getMoveNanos();
+    assertEquals(9, nanos.length);
+    long x = 0;
+    for (int i = 0; i < nanos.length; i += 2) x += nanos[i];
+    assertEquals(x, c.getTotalNanos(Player.X));
+    long total = 0;
+    for (long n : nanos) total += n;
+    assertEquals(total, c.getTotalNanos(Player.X) + c.getTotalNanos(Player.O));
+    assertTrue(c.getMaxNanos(Player.O) <= c.getTotalNanos(Player.O));
+    assertEquals(0, c.getOverruns());
+  }
+
+  /**
+   * Slow moves are still played but counted as overruns
+   */
+  @Test
+  public void testOverruns() {
+    MoveStrategy slow = m -> {
+      try {
+        Thread.sleep(20);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return new ScriptedStrategy(new Move(0, 0), new Move(0, 1), new Move(0, 2)).chooseMove(m);
+    };
+    StrategyGameController c = new StrategyGameController(slow,
+        new ScriptedStrategy(new Move(1, 0), new Move(1, 1)), new StringBuilder(), 10);
+    TicTacToeModel m = new TicTacToeModel();
+    c.playGame(m);
+    assertEquals(Player.X, m.getWinner());
+    assertEquals(3, c.getOverruns());
+    assertTrue(c.getMaxNanos(Player.X) >= 20_000_000);
+  }
+
+  /**
+   * A program plays a program on a time budget
+   */
+  @Test
+  public void testMctsAgainstSolver() {
+    StrategyGameController c = new StrategyGameController(new MctsStrategy(0, 50, 2),
+        new SolverStrategy(new TicTacToeSolver()), new StringBuilder(), 1000);
+    TicTacToeModel m = new TicTacToeModel();
+    c.playGame(m);
+    assertTrue(m.isGameOver());
+    assertNotEquals(Player.X, m.getWinner());
+    assertEquals(0, c.getOverruns());
+  }
+
+  /**
+   * A strategy that can stop on time is given the budget as a deadline
+   */
+  @Test(timeout = 20000)
+  public void testBudgetIsDeadline() {
+    StrategyGameController c = new StrategyGameController(new MctsStrategy(0, 60_000, 2),
+        new SolverStrategy(new TicTacToeSolver()), new StringBuilder(), 100);
+    TicTacToeModel m = new TicTacToeModel();
+    c.playGame(m);
+    assertTrue(m.isGameOver());
+    assertTrue(c.getMaxNanos(Player.X) < 2_000_000_000L);
+  }
+
+  /**
+   * A strategy that plays a taken position is an error, caused by the rejected move
+   */
+  @Test
+  public void testInvalidStrategyMove() {
+    MoveStrategy center = m -> new Move(1, 1);
+    try {
+      new StrategyGameController(center, center, new StringBuilder(), 0).playGame(new TicTacToeModel());
+      fail();
+    } catch (IllegalStateException e) {
+      assertTrue(e.getCause() instanceof IllegalArgumentException);
+    }
+  }
+
+  /**
+   * The controller rejects missing strategies
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullStrategy() {
+    new StrategyGameController(null, m -> null, new StringBuilder(), 0);
+  }
+}
@@ -283,6 +283,19 @@ public class TicTacToeControllerTest {
 
   }
 
+  // Signs, grouping separators and values beyond the int range are read like Scanner does
+  @Test
+  public void testNumberFormats () {
+    String lastMsg = this.runGameHelper("+2 2 1,000 2147483648 1,00 -0 -1 00 q", 6);
+    assertEquals(
+            "   |   |  \n" +
+                    "Enter a move for O:\n" +
+                    "Not a valid number: 2147483648\n" +
+                    "Not a valid number: 1,00\n" +
+                    "Not a valid move: 1000, 0\n" +
+                    "Not a valid move: -1, 0", lastMsg);
+  }
+
   /**
    * Helper method to create a based on the gamePath that was provided
    * @param gamePath Instructions to follow, each movement should be separated by a space
@@ -331,4 +331,34 @@ public class TicTacToeModelTest {
     ttt1.move(2,0);
     assertEquals(Player.X,ttt1.getWinner());
   }
+
+  /**
+   * Test a reset game clears the board, the line counts and the key, so a stale line can not
+   * win the next game
+   */
+  @Test
+  public void testReset() {
+    TicTacToeModel m = new TicTacToeModel();
+    m.move(0, 0);
+    m.move(1, 0);
+    m.move(0, 1);
+    m.move(2, 0);
+    m.move(0, 2);
+    assertEquals(Player.X, m.getWinner());
+    m.reset();
+    assertFalse(m.isGameOver());
+    assertNull(m.getWinner());
+    assertEquals(Player.X, m.getTurn());
+    for (Player[] row : m.getBoard()) {
+      for (Player p : row) assertNull(p);
+    }
+    assertEquals(new TicTacToeModel().getZobristKey(), m.getZobristKey());
+    m.move(0, 0);
+    m.move(1, 1);
+    m.move(0, 1);
+    assertFalse(m.isGameOver());
+    m.move(2, 2);
+    m.move(0, 2);
+    assertEquals(Player.X, m.getWinner());
+  }
 }
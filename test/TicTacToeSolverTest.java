@@ -0,0 +1,145 @@
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import tictactoe.BitboardTicTacToeModel;
+import tictactoe.Move;
+import tictactoe.MnkTicTacToeModel;
+import tictactoe.Player;
+import tictactoe.Solution;
+import tictactoe.TicTacToe;
+import tictactoe.TicTacToeModel;
+import tictactoe.TicTacToeSolver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for the perfect play solver, checked against a plain minimax search.
+ */
+public class TicTacToeSolverTest {
+
+  private final TicTacToeSolver solver = new TicTacToeSolver();
+
+  /**
+   * The empty board is a tie with perfect play
+   */
+  @Test
+  public void testEmptyBoardIsDraw() {
+    assertEquals(Solution.DRAW, solver.evaluate(new TicTacToeModel()));
+  }
+
+  /**
+   * The solver takes an immediate win
+   */
+  @Test
+  public void testWinInOne() {
+    TicTacToe m = play(new TicTacToeModel(), 0, 0, 1, 0, 0, 1, 2, 0);
+    Solution s = solver.solve(m);
+    assertEquals(Solution.WIN, s.getValue());
+    assertEquals(new Move(0, 2), s.getMove());
+  }
+
+  /**
+   * The solver blocks a line it can not win against
+   */
+  @Test
+  public void testBlock() {
+    TicTacToe m = play(new BitboardTicTacToeModel(), 0, 0, 1, 1, 0, 1);
+    assertEquals(new Move(0, 2), solver.bestMove(m));
+  }
+
+  /**
+   * Every reachable position gets the minimax value, and the suggested move keeps that value
+   */
+  @Test
+  public void testAllPositionsMatchMinimax() {
+    checkAll(new BitboardTicTacToeModel(), new int[0]);
+  }
+
+  /**
+   * Only the classic board can be solved
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testOtherBoardSize() {
+    solver.solve(new MnkTicTacToeModel(4, 4, 3));
+  }
+
+  /**
+   * There is no move to find when the game is over
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testGameOver() {
+    solver.solve(play(new TicTacToeModel(), 0, 0, 1, 0, 0, 1, 2, 0, 0, 2));
+  }
+
+  private final Set<String> visited = new HashSet<>();
+
+  private void checkAll(TicTacToe m, int[] path) {
+    if (m.isGameOver() || !visited.add(m.toString())) return;
+
+    Solution s = solver.solve(m);
+    assertEquals(minimax(m), s.getValue());
+    TicTacToe next = play(new BitboardTicTacToeModel(), append(path, s.getMove()));
+    assertEquals(-s.getValue(), next.isGameOver() ? (next.getWinner() == null ? 0 : -1) : minimax(next));
+
+    for (Move move : Move.legalMoves(m)) {
+      int[] child = append(path, move);
+      checkAll(play(new BitboardTicTacToeModel(), child), child);
+    }
+  }
+
+  private static final Map<String, Integer> VALUES = new HashMap<>();
+
+  private static int minimax(TicTacToe m) {
+    Integer known = VALUES.get(m.toString());
+    if (known != null) return known;
+
+    int best = -1;
+    for (Move move : Move.legalMoves(m)) {
+      TicTacToe next = play(copy(m), move.getRow(), move.getColumn());
+      int value = next.isGameOver() ? (next.getWinner() == null ? 0 : 1) : -minimax(next);
+      best = Math.max(best, value);
+    }
+    VALUES.put(m.toString(), best);
+    return best;
+  }
+
+  private static TicTacToe copy(TicTacToe m) {
+    Player[][] board = m.getBoard();
+    TicTacToe result = new BitboardTicTacToeModel();
+    //Replay the marks alternately, X first
+    for (int round = 0; ; round++) {
+      Player p = round % 2 == 0 ? Player.X : Player.O;
+      boolean found = false;
+      for (int cell = 0; cell < 9 && !found; cell++) {
+        if (board[cell / 3][cell % 3] == p) {
+          board[cell / 3][cell % 3] = null;
+          result.move(cell / 3, cell % 3);
+          found = true;
+        }
+      }
+      if (!found) break;
+    }
+    assertNull(result.getWinner());
+    return result;
+  }
+
+  private static int[] append(int[] path, Move move) {
+    int[] result = Arrays.copyOf(path, path.length + 2);
+    result[path.length] = move.getRow();
+    result[path.length + 1] = move.getColumn();
+    return result;
+  }
+
+  private static TicTacToe play(TicTacToe m, int... moves) {
+    for (int i = 0; i < moves.length; i += 2) m.move(moves[i], moves[i + 1]);
+    assertTrue(moves.length % 2 == 0);
+    return m;
+  }
+}